@@ -1,5 +1,7 @@
 package com.nexus.enrollment.admin;
 
+import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.service.InProcessTransport;
 import com.nexus.enrollment.common.web.WebServer;
 import com.nexus.enrollment.admin.service.AdminService;
 import com.nexus.enrollment.admin.service.ReportService;
@@ -8,7 +10,7 @@ import io.javalin.Javalin;
 
 public class AdminServiceApplication {
     
-    private static final int PORT = 8084;
+    private static final int PORT = WebServer.resolvePort("ADMIN_SERVICE_PORT", 8084);
     
     public static void main(String[] args) {
         // Initialize services
@@ -40,7 +42,7 @@ public class AdminServiceApplication {
         System.out.println("  GET /admin/reports/course-trends - Course popularity trends");
     }
     
-    private static void registerRoutes(Javalin app, AdminHandler adminHandler) {
+    public static void registerRoutes(Javalin app, AdminHandler adminHandler) {
         // Student endpoints
         app.get("/admin/students", adminHandler::getAllStudents);
         
@@ -61,4 +63,15 @@ public class AdminServiceApplication {
         app.get("/admin/reports/faculty-workload", adminHandler::generateFacultyWorkloadReport);
         app.get("/admin/reports/course-trends", adminHandler::generateCourseTrendsReport);
     }
+    
+    /**
+     * Register the routes other services call, so that in monolith mode they are served in-process
+     */
+    public static void registerInProcessRoutes(InProcessTransport transport, AdminService adminService) {
+        transport
+            .route("admin", "GET", "/admin/students", request -> adminService.getAllStudents())
+            .route("admin", "GET", "/admin/faculty", request -> adminService.getAllFaculty())
+            .route("admin", "PUT", "/admin/courses/{courseId}", request ->
+                adminService.updateCourse(request.pathParamAsLong("courseId"), request.bodyAs(Course.class)));
+    }
 }
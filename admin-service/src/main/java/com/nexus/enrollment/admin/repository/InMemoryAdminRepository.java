@@ -1,39 +1,17 @@
 package com.nexus.enrollment.admin.repository;
 
+import com.nexus.enrollment.common.repository.InMemoryCrudRepository;
 import java.util.*;
 
-public class InMemoryAdminRepository implements AdminRepository {
-    private final Map<Long, Map<String, Object>> adminData = new HashMap<>();
-    private Long nextId = 1L;
+public class InMemoryAdminRepository extends InMemoryCrudRepository<Map<String, Object>> implements AdminRepository {
     
     @Override
-    public Map<String, Object> save(Map<String, Object> entity) {
-        Long id = (Long) entity.get("id");
-        if (id == null) {
-            id = nextId++;
-            entity.put("id", id);
-        }
-        adminData.put(id, entity);
-        return entity;
+    protected Long getId(Map<String, Object> entity) {
+        return (Long) entity.get("id");
     }
     
     @Override
-    public Optional<Map<String, Object>> findById(Long id) {
-        return Optional.ofNullable(adminData.get(id));
-    }
-    
-    @Override
-    public List<Map<String, Object>> findAll() {
-        return new ArrayList<>(adminData.values());
-    }
-    
-    @Override
-    public void deleteById(Long id) {
-        adminData.remove(id);
-    }
-    
-    @Override
-    public boolean existsById(Long id) {
-        return adminData.containsKey(id);
+    protected void setId(Map<String, Object> entity, Long id) {
+        entity.put("id", id);
     }
 }
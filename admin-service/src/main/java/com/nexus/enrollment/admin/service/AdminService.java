@@ -7,15 +7,10 @@ import com.nexus.enrollment.common.registries.CourseServiceRegistry;
 import com.nexus.enrollment.common.registries.StudentServiceRegistry;
 import com.nexus.enrollment.common.registries.FacultyServiceRegistry;
 import com.nexus.enrollment.common.service.ServiceResponse;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import java.util.List;
 import java.util.ArrayList;
-import java.lang.reflect.Type;
 
 public class AdminService {
-    private final Gson gson = new Gson();
-    
     public Course createCourse(Course course) {
         // Use CourseServiceRegistry to create course
         ServiceResponse<Course> response = CourseServiceRegistry.createCourse(course);
@@ -76,16 +71,10 @@ public class AdminService {
     }
     
     public List<Student> getAllStudents() {
-        ServiceResponse<String> response = StudentServiceRegistry.getAllStudents();
+        ServiceResponse<List<Student>> response = StudentServiceRegistry.listAllStudents();
         if (response.isSuccess()) {
-            try {
-                Type listType = new TypeToken<List<Student>>(){}.getType();
-                return gson.fromJson(response.getData(), listType);
-            } catch (Exception e) {
-                // If JSON parsing fails, return empty list
-                System.err.println("Failed to parse students JSON: " + e.getMessage());
-                return new ArrayList<>();
-            }
+            List<Student> students = response.getData();
+            return students != null ? students : new ArrayList<>();
         } else {
             throw new RuntimeException("Failed to get students: " + response.getMessage());
         }
@@ -113,16 +102,10 @@ public class AdminService {
     }
     
     public List<Course> getAllCourses() {
-        ServiceResponse<String> response = CourseServiceRegistry.getAllCourses();
+        ServiceResponse<List<Course>> response = CourseServiceRegistry.listAllCourses();
         if (response.isSuccess()) {
-            try {
-                Type listType = new TypeToken<List<Course>>(){}.getType();
-                return gson.fromJson(response.getData(), listType);
-            } catch (Exception e) {
-                // If JSON parsing fails, return empty list
-                System.err.println("Failed to parse courses JSON: " + e.getMessage());
-                return new ArrayList<>();
-            }
+            List<Course> courses = response.getData();
+            return courses != null ? courses : new ArrayList<>();
         } else {
             throw new RuntimeException("Failed to get courses: " + response.getMessage());
         }
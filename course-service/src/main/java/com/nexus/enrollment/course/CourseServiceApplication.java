@@ -4,6 +4,8 @@ import com.nexus.enrollment.common.model.Course;
 import com.nexus.enrollment.common.model.Schedule;
 import com.nexus.enrollment.common.model.Prerequisite;
 import com.nexus.enrollment.common.web.WebServer;
+import com.nexus.enrollment.common.service.InProcessTransport;
+import com.nexus.enrollment.common.exceptions.BadRequestException;
 import com.nexus.enrollment.course.repository.CourseRepository;
 import com.nexus.enrollment.course.repository.InMemoryCourseRepository;
 import com.nexus.enrollment.course.service.CourseService;
@@ -11,10 +13,12 @@ import com.nexus.enrollment.course.handler.CoursesHandler;
 import io.javalin.Javalin;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
 
 public class CourseServiceApplication {
     
-    private static final int PORT = 8082;
+    private static final int PORT = WebServer.resolvePort("COURSE_SERVICE_PORT", 8082);
     private static CourseRepository courseRepository;
     private static CoursesHandler coursesHandler;
     
@@ -43,30 +47,78 @@ public class CourseServiceApplication {
         System.out.println("Course Service started on port " + PORT);
         System.out.println("Available endpoints:");
         
+        registerRoutes(app, coursesHandler);
+        
+        System.out.println("  GET /courses - Get all courses");
+        System.out.println("  GET /courses/search?keyword={}&department={} - Search courses by keyword, best match first");
+        System.out.println("  GET /courses/available - Get available courses");
+        System.out.println("  GET /courses/batch?ids=1,2,3 - Get several courses by ID");
+        System.out.println("  POST /courses/batch - Get several courses by ID (body: [1, 2, 3])");
+        System.out.println("  GET /courses/seats/stream?ids=1,2&department={} - Server-Sent Events stream of seat availability");
+        System.out.println("  GET /courses/department/{dept} - Get courses by department");
+        System.out.println("  GET /courses/instructor/{facultyId} - Get courses by instructor");
+        System.out.println("  GET /courses/{id} - Get course by ID");
+        System.out.println("  GET /courses/{id}/prerequisites - Get course prerequisites");
+        System.out.println("  GET /courses/{id}/enrollments - Get enrolled students count");
+        System.out.println("  POST /courses/{id}/seats/reserve - Atomically reserve a seat (or report the course full)");
+        System.out.println("  POST /courses/{id}/seats/release - Atomically release a seat");
+        System.out.println("  POST /courses - Create new course");
+    }
+    
+    public static void registerRoutes(Javalin app, CoursesHandler coursesHandler) {
         // Course Service Endpoints using CoursesHandler methods
         // Note: More specific routes must come before parameterized routes
         app.get("/courses", coursesHandler::getAllCourses);
         app.get("/courses/search", coursesHandler::searchCourses);
         app.get("/courses/available", coursesHandler::getAvailableCourses);
+        app.get("/courses/batch", coursesHandler::getCoursesBatch);
+        app.post("/courses/batch", coursesHandler::postCoursesBatch);
+        app.sse("/courses/seats/stream", coursesHandler::streamSeatAvailability);
         app.get("/courses/department/{dept}", coursesHandler::getCoursesByDepartment);
         app.get("/courses/instructor/{facultyId}", coursesHandler::getCoursesByInstructor);
         app.get("/courses/{id}", coursesHandler::getCourseById);
         app.get("/courses/{id}/prerequisites", coursesHandler::getCoursePrerequisites);
         app.get("/courses/{id}/enrollments", coursesHandler::getCourseEnrollments);
+        app.post("/courses/{id}/seats/reserve", coursesHandler::reserveSeat);
+        app.post("/courses/{id}/seats/release", coursesHandler::releaseSeat);
         app.post("/courses", coursesHandler::createCourse);
-        
-        System.out.println("  GET /courses - Get all courses");
-        System.out.println("  GET /courses/search?keyword={} - Search courses by keyword");
-        System.out.println("  GET /courses/available - Get available courses");
-        System.out.println("  GET /courses/department/{dept} - Get courses by department");
-        System.out.println("  GET /courses/instructor/{facultyId} - Get courses by instructor");
-        System.out.println("  GET /courses/{id} - Get course by ID");
-        System.out.println("  GET /courses/{id}/prerequisites - Get course prerequisites");
-        System.out.println("  GET /courses/{id}/enrollments - Get enrolled students count");
-        System.out.println("  POST /courses - Create new course");
     }
     
-    private static void initializeSampleData(CourseRepository repo) {
+    /**
+     * Register the routes other services call, so that in monolith mode they are served in-process
+     */
+    public static void registerInProcessRoutes(InProcessTransport transport, CourseService courseService) {
+        transport
+            .route("course", "GET", "/courses", request -> courseService.getAllCourses())
+            .route("course", "GET", "/courses/search", request -> {
+                String keyword = request.queryParam("keyword");
+                if (keyword == null || keyword.trim().isEmpty()) {
+                    throw new BadRequestException("Keyword parameter is required");
+                }
+                String department = request.queryParam("department");
+                return courseService.searchCourses(department != null ? department : "", keyword);
+            })
+            .route("course", "GET", "/courses/available", request -> courseService.getAvailableCourses())
+            .route("course", "POST", "/courses/batch", request ->
+                courseService.getCoursesByIds(Arrays.asList(request.bodyAs(Long[].class))))
+            .route("course", "GET", "/courses/department/{dept}", request ->
+                courseService.getCoursesByDepartment(request.pathParam("dept")))
+            .route("course", "GET", "/courses/instructor/{facultyId}", request ->
+                courseService.getCoursesByInstructor(request.pathParamAsLong("facultyId")))
+            .route("course", "GET", "/courses/{id}", request -> courseService.getCourseById(request.pathParamAsLong("id")))
+            .route("course", "GET", "/courses/{id}/prerequisites", request -> {
+                Course course = courseService.getCourseById(request.pathParamAsLong("id"));
+                return course.getPrerequisites() != null ? course.getPrerequisites() : Collections.emptyList();
+            })
+            .route("course", "GET", "/courses/{id}/enrollments", request ->
+                courseService.getEnrollmentCount(request.pathParamAsLong("id")))
+            .route("course", "POST", "/courses/{id}/seats/reserve", request ->
+                courseService.reserveSeat(request.pathParamAsLong("id")))
+            .route("course", "POST", "/courses/{id}/seats/release", request ->
+                courseService.releaseSeat(request.pathParamAsLong("id")));
+    }
+    
+    public static void initializeSampleData(CourseRepository repo) {
         // Create sample schedules with IDs
         Schedule schedule1 = new Schedule(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 30), "Room A101");
         schedule1.setId(1L);
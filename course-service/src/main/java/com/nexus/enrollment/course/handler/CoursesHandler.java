@@ -2,19 +2,29 @@ package com.nexus.enrollment.course.handler;
 
 import com.nexus.enrollment.common.model.Course;
 import com.nexus.enrollment.common.model.Schedule;
+import com.nexus.enrollment.common.model.SeatReservation;
+import com.nexus.enrollment.common.enums.SeatReservationStatus;
 import com.nexus.enrollment.common.handler.BaseHandler;
 import com.nexus.enrollment.common.exceptions.BadRequestException;
 import com.nexus.enrollment.course.service.CourseService;
+import com.nexus.enrollment.course.service.SeatAvailabilityStream;
 import com.nexus.enrollment.course.repository.CourseRepository;
 import io.javalin.http.Context;
+import io.javalin.http.sse.SseClient;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class CoursesHandler extends BaseHandler {
     
     private final CourseService courseService;
     private final CourseRepository courseRepository;
+    private SeatAvailabilityStream seatAvailabilityStream;
     
     public CoursesHandler(CourseService courseService, CourseRepository courseRepository) {
         this.courseService = courseService;
@@ -33,6 +43,65 @@ public class CoursesHandler extends BaseHandler {
         ctx.json(createSuccessResponse("Course retrieved successfully", course));
     }
     
+    public void getCoursesBatch(Context ctx) {
+        String ids = ctx.queryParam("ids");
+        if (ids == null || ids.trim().isEmpty()) {
+            throw new BadRequestException("ids parameter is required");
+        }
+        List<Long> courseIds = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (!id.trim().isEmpty()) {
+                courseIds.add(Long.parseLong(id.trim())); // NumberFormatException handled globally
+            }
+        }
+        Map<Long, Course> courses = courseService.getCoursesByIds(courseIds);
+        ctx.json(createSuccessResponse("Courses retrieved successfully", courses));
+    }
+    
+    public void postCoursesBatch(Context ctx) {
+        Long[] courseIds = ctx.bodyAsClass(Long[].class);
+        if (courseIds == null) {
+            throw new BadRequestException("Request body must be a list of course ids");
+        }
+        Map<Long, Course> courses = courseService.getCoursesByIds(Arrays.asList(courseIds));
+        ctx.json(createSuccessResponse("Courses retrieved successfully", courses));
+    }
+    
+    /**
+     * Server-Sent Events stream of seat counts, for courses in ?ids=1,2 and/or departments in
+     * ?department=CS,MATH, or for every course when neither is given
+     */
+    public void streamSeatAvailability(SseClient client) {
+        Context ctx = client.ctx();
+        Set<Long> courseIds = new HashSet<>();
+        String ids = ctx.queryParam("ids");
+        if (ids != null) {
+            for (String id : ids.split(",")) {
+                if (!id.trim().isEmpty()) {
+                    courseIds.add(Long.parseLong(id.trim())); // NumberFormatException handled globally
+                }
+            }
+        }
+        Set<String> departments = new HashSet<>();
+        String department = ctx.queryParam("department");
+        if (department != null) {
+            for (String dept : department.split(",")) {
+                if (!dept.trim().isEmpty()) {
+                    departments.add(dept.trim());
+                }
+            }
+        }
+        seatAvailabilityStream().subscribe(client, courseIds, departments);
+    }
+    
+    // Created on first subscription, so a service nobody watches tracks no seat changes
+    private synchronized SeatAvailabilityStream seatAvailabilityStream() {
+        if (seatAvailabilityStream == null) {
+            seatAvailabilityStream = SeatAvailabilityStream.fromEnvironment(courseRepository);
+        }
+        return seatAvailabilityStream;
+    }
+    
     public void getCoursesByDepartment(Context ctx) {
         String department = ctx.pathParam("dept");
         List<Course> courses = courseService.getCoursesByDepartment(department);
@@ -79,6 +148,21 @@ public class CoursesHandler extends BaseHandler {
         ctx.json(createSuccessResponse("Enrollment count retrieved successfully", count));
     }
     
+    public void reserveSeat(Context ctx) {
+        Long id = Long.parseLong(ctx.pathParam("id")); // NumberFormatException handled globally
+        SeatReservation reservation = courseService.reserveSeat(id); // NotFoundException handled globally
+        ctx.json(createSuccessResponse(reservation.isReserved() ? "Seat reserved successfully" : "Course is full", reservation));
+    }
+    
+    public void releaseSeat(Context ctx) {
+        Long id = Long.parseLong(ctx.pathParam("id")); // NumberFormatException handled globally
+        SeatReservation reservation = courseService.releaseSeat(id); // NotFoundException handled globally
+        String message = reservation.getStatus() == SeatReservationStatus.RELEASED
+                ? "Seat released successfully"
+                : "No reserved seat to release";
+        ctx.json(createSuccessResponse(message, reservation));
+    }
+    
     public void createCourse(Context ctx) {
         // Use Javalin's automatic JSON parsing with GSON
         Course course = ctx.bodyAsClass(Course.class);
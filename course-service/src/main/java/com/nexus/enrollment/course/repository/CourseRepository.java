@@ -3,9 +3,36 @@ package com.nexus.enrollment.course.repository;
 import com.nexus.enrollment.common.model.Course;
 import com.nexus.enrollment.common.repository.CrudRepository;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseRepository extends CrudRepository<Course, Long> {
     List<Course> findByDepartment(String department);
     List<Course> findByInstructor(Long facultyId);
     List<Course> findAvailableCourses();
+    
+    /**
+     * Courses matching every word of the keyword, as a word or word prefix in the code,
+     * name or description, best match first
+     * @param department only courses in this department, or null/empty for all
+     */
+    List<Course> search(String keyword, String department);
+    
+    /**
+     * Atomically take one seat if any is left
+     * @return seats left after the reservation, or -1 if the course is full or does not exist
+     */
+    int reserveSeat(Long courseId);
+    
+    /**
+     * Atomically give one seat back, never beyond the course's capacity
+     * @return seats available after the release, or -1 if no seat was taken or the course does not exist
+     */
+    int releaseSeat(Long courseId);
+    
+    /**
+     * Register a callback that gets the id of every course whose seat count may have changed:
+     * after a reservation, a release, a save or a delete. Called on the thread making the
+     * change, so it must be quick.
+     */
+    void addSeatListener(Consumer<Long> listener);
 }
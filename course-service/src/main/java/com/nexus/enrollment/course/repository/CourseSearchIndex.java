@@ -0,0 +1,153 @@
+package com.nexus.enrollment.course.repository;
+
+import com.nexus.enrollment.common.model.Course;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over course code, name and description for keyword search.
+ *
+ * Text is split into lower-case terms once, when a course is saved, and each term maps to the
+ * courses containing it. Terms are kept sorted, so a query term also matches every indexed
+ * term it is a prefix of ("calc" finds "calculus") with a range lookup. All query terms must
+ * match (AND). A match in the course code weighs 3, in the name 2, in the description 1, and
+ * an exact term counts double a prefix match; results are ordered by total weight.
+ */
+public class CourseSearchIndex {
+    private static final int CODE_WEIGHT = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_FACTOR = 2;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Between a letter and a digit, so "CS101" is also found as "cs" and "101"
+    private static final Pattern LETTER_DIGIT_BOUNDARY = Pattern.compile("(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+    
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedCourse> courses = new ConcurrentHashMap<>();
+    
+    /**
+     * Index a course, replacing whatever was indexed for it before
+     */
+    public synchronized void update(Course course) {
+        remove(course.getId());
+        
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, course.getCourseCode(), CODE_WEIGHT);
+        addField(weights, course.getName(), NAME_WEIGHT);
+        addField(weights, course.getDescription(), DESCRIPTION_WEIGHT);
+        
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(course.getId(), weight));
+        courses.put(course.getId(), new IndexedCourse(weights.keySet(), course.getDepartment()));
+    }
+    
+    public synchronized void remove(Long courseId) {
+        IndexedCourse indexed = courses.remove(courseId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(courseId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Ids of the courses matching every term of the query, best match first
+     * @param department only courses in this department (case-insensitive), or null/empty for all
+     */
+    public List<Long> search(String query, String department) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        for (String term : SEPARATORS.split(normalize(query))) {
+            if (!term.isEmpty()) {
+                queryTerms.add(term);
+            }
+        }
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        boolean anyDepartment = department == null || department.isEmpty();
+        
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Integer> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> posting : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).entrySet()) {
+                int factor = posting.getKey().equals(queryTerm) ? EXACT_MATCH_FACTOR : 1;
+                posting.getValue().forEach((courseId, weight) -> termScores.merge(courseId, weight * factor, Math::max));
+            }
+            
+            if (scores == null) {
+                scores = termScores;
+                if (!anyDepartment) {
+                    scores.keySet().removeIf(courseId -> !inDepartment(courseId, department));
+                }
+            } else {
+                // AND: keep only courses that matched every term so far
+                scores.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Long, Integer> score : scores.entrySet()) {
+                    score.setValue(score.getValue() + termScores.get(score.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        
+        Map<Long, Integer> ranked = scores;
+        List<Long> courseIds = new ArrayList<>(ranked.keySet());
+        courseIds.sort(Comparator.comparing((Long courseId) -> ranked.get(courseId)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return courseIds;
+    }
+    
+    private boolean inDepartment(Long courseId, String department) {
+        IndexedCourse indexed = courses.get(courseId);
+        return indexed != null && indexed.department != null && indexed.department.equalsIgnoreCase(department);
+    }
+    
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            terms.add(token);
+            for (String part : LETTER_DIGIT_BOUNDARY.split(token)) {
+                terms.add(part);
+            }
+        }
+        // A term counts once per field, however often it appears in it
+        for (String term : terms) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+    
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+    
+    private static class IndexedCourse {
+        private final Set<String> terms;
+        private final String department;
+        
+        IndexedCourse(Set<String> terms, String department) {
+            this.terms = terms;
+            this.department = department;
+        }
+    }
+}
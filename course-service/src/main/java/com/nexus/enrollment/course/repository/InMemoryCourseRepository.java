@@ -1,60 +1,186 @@
 package com.nexus.enrollment.course.repository;
 
 import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.repository.InMemoryCrudRepository;
+import com.nexus.enrollment.common.repository.SecondaryIndex;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-public class InMemoryCourseRepository implements CourseRepository {
-    private final Map<Long, Course> courses = new HashMap<>();
-    private Long nextId = 1L;
+public class InMemoryCourseRepository extends InMemoryCrudRepository<Course> implements CourseRepository {
+    private final SecondaryIndex<Course, String> byDepartment = index(course -> departmentKey(course.getDepartment()));
+    private final SecondaryIndex<Course, Long> byInstructor = index(Course::getInstructorId);
+    // Authoritative seat counts, changed only by compare-and-set. Stored courses are never
+    // touched by reads: each read returns a copy carrying the count from here
+    private final Map<Long, AtomicInteger> availableSeats = new ConcurrentHashMap<>();
+    // Courses with at least one seat left, updated only when a count crosses zero, so listing
+    // available courses costs O(result) instead of a pass over the whole catalog
+    private final Set<Long> coursesWithSeats = new ConcurrentSkipListSet<>();
+    private final CourseSearchIndex searchIndex = new CourseSearchIndex();
+    private final List<Consumer<Long>> seatListeners = new CopyOnWriteArrayList<>();
     
     @Override
-    public Course save(Course course) {
-        if (course.getId() == null) {
-            course.setId(nextId++);
-        }
-        courses.put(course.getId(), course);
-        return course;
+    protected Long getId(Course course) {
+        return course.getId();
     }
     
     @Override
-    public Optional<Course> findById(Long id) {
-        return Optional.ofNullable(courses.get(id));
+    protected void setId(Course course, Long id) {
+        course.setId(id);
     }
     
     @Override
-    public List<Course> findAll() {
-        return new ArrayList<>(courses.values());
+    protected void afterSave(Course previous, Course course) {
+        // Only a new course takes its seat count from the saved object. Any other save carries
+        // a count that was read earlier and may be out of date, so it never replaces the live
+        // count; a change in capacity is added to it instead (never going below zero).
+        AtomicInteger seats = availableSeats.computeIfAbsent(course.getId(), id -> new AtomicInteger(course.getAvailableSeats()));
+        if (previous != null) {
+            int capacityChange = course.getTotalCapacity() - previous.getTotalCapacity();
+            if (capacityChange != 0) {
+                seats.getAndUpdate(current -> Math.max(0, current + capacityChange));
+            }
+        }
+        updateHasSeats(course.getId(), seats);
+        searchIndex.update(course);
+        seatsChanged(course.getId());
+    }
+    
+    @Override
+    protected void afterDelete(Long id, Course course) {
+        AtomicInteger seats = availableSeats.remove(id);
+        if (seats != null) {
+            updateHasSeats(id, seats);
+        }
+        searchIndex.remove(id);
+        seatsChanged(id);
     }
     
     @Override
-    public void deleteById(Long id) {
-        courses.remove(id);
+    public Optional<Course> findById(Long id) {
+        return super.findById(id).map(this::withLiveSeats);
     }
     
     @Override
-    public boolean existsById(Long id) {
-        return courses.containsKey(id);
+    public List<Course> findAll() {
+        return super.findAll().stream()
+                .map(this::withLiveSeats)
+                .collect(Collectors.toList());
     }
     
     @Override
     public List<Course> findByDepartment(String department) {
-        return courses.values().stream()
-                .filter(course -> course.getDepartment().equalsIgnoreCase(department))
+        return findAllBy(byDepartment, departmentKey(department)).stream()
+                .map(this::withLiveSeats)
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<Course> findByInstructor(Long facultyId) {
-        return courses.values().stream()
-                .filter(course -> course.getInstructorId().equals(facultyId))
+        return findAllBy(byInstructor, facultyId).stream()
+                .map(this::withLiveSeats)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Course> search(String keyword, String department) {
+        return resolve(searchIndex.search(keyword, department)).stream()
+                .map(this::withLiveSeats)
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<Course> findAvailableCourses() {
-        return courses.values().stream()
+        return resolve(coursesWithSeats).stream()
+                .map(this::withLiveSeats)
                 .filter(course -> !course.isFull())
                 .collect(Collectors.toList());
     }
+    
+    @Override
+    public int reserveSeat(Long courseId) {
+        AtomicInteger seats = availableSeats.get(courseId);
+        if (seats == null) {
+            return -1;
+        }
+        while (true) {
+            int current = seats.get();
+            if (current <= 0) {
+                return -1;
+            }
+            if (seats.compareAndSet(current, current - 1)) {
+                if (current == 1) {
+                    updateHasSeats(courseId, seats);
+                }
+                seatsChanged(courseId);
+                return current - 1;
+            }
+        }
+    }
+    
+    @Override
+    public int releaseSeat(Long courseId) {
+        AtomicInteger seats = availableSeats.get(courseId);
+        Course course = super.findById(courseId).orElse(null);
+        if (seats == null || course == null) {
+            return -1;
+        }
+        while (true) {
+            int current = seats.get();
+            if (current >= course.getTotalCapacity()) {
+                return -1;
+            }
+            if (seats.compareAndSet(current, current + 1)) {
+                if (current == 0) {
+                    updateHasSeats(courseId, seats);
+                }
+                seatsChanged(courseId);
+                return current + 1;
+            }
+        }
+    }
+    
+    @Override
+    public void addSeatListener(Consumer<Long> listener) {
+        seatListeners.add(listener);
+    }
+    
+    private void seatsChanged(Long courseId) {
+        for (Consumer<Long> listener : seatListeners) {
+            listener.accept(courseId);
+        }
+    }
+    
+    /**
+     * Bring the course's membership of coursesWithSeats in line with its seat count. Called
+     * after every change that crosses zero; the count is re-read under the counter's lock, so
+     * whichever call runs last leaves the set matching the latest count.
+     */
+    private void updateHasSeats(Long courseId, AtomicInteger seats) {
+        synchronized (seats) {
+            if (availableSeats.get(courseId) == seats && seats.get() > 0) {
+                coursesWithSeats.add(courseId);
+            } else {
+                coursesWithSeats.remove(courseId);
+            }
+        }
+    }
+    
+    private Course withLiveSeats(Course course) {
+        Course copy = course.copy();
+        AtomicInteger seats = availableSeats.get(course.getId());
+        if (seats != null) {
+            copy.setAvailableSeats(seats.get());
+        }
+        return copy;
+    }
+    
+    // Departments match case-insensitively
+    private static String departmentKey(String department) {
+        return department == null ? null : department.toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,10 +1,14 @@
 package com.nexus.enrollment.course.service;
 
 import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.model.SeatReservation;
+import com.nexus.enrollment.common.enums.SeatReservationStatus;
 import com.nexus.enrollment.common.exceptions.NotFoundException;
 import com.nexus.enrollment.course.repository.CourseRepository;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 public class CourseService {
     private final CourseRepository courseRepository;
@@ -18,6 +22,20 @@ public class CourseService {
                 .orElseThrow(() -> new NotFoundException("Course", id));
     }
     
+    /**
+     * Look up several courses in one call. The result preserves request order and
+     * simply omits ids that do not exist, so callers can tell which ones were missing.
+     */
+    public Map<Long, Course> getCoursesByIds(Collection<Long> ids) {
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        for (Long id : ids) {
+            if (id != null && !courses.containsKey(id)) {
+                courseRepository.findById(id).ifPresent(course -> courses.put(id, course));
+            }
+        }
+        return courses;
+    }
+    
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
@@ -31,21 +49,14 @@ public class CourseService {
     }
     
     public List<Course> searchCourses(String department, String keyword) {
-        List<Course> courses = department != null && !department.isEmpty() 
-            ? getCoursesByDepartment(department) 
-            : getAllCourses();
-            
         if (keyword != null && !keyword.isEmpty()) {
-            String lowerKeyword = keyword.toLowerCase();
-            return courses.stream()
-                    .filter(course -> 
-                        course.getName().toLowerCase().contains(lowerKeyword) ||
-                        course.getDescription().toLowerCase().contains(lowerKeyword) ||
-                        course.getCourseCode().toLowerCase().contains(lowerKeyword))
-                    .collect(Collectors.toList());
+            // Served from the search index, ranked by relevance
+            return courseRepository.search(keyword, department);
         }
         
-        return courses;
+        return department != null && !department.isEmpty() 
+            ? getCoursesByDepartment(department) 
+            : getAllCourses();
     }
     
     public List<Course> getAvailableCourses() {
@@ -57,6 +68,29 @@ public class CourseService {
         return course.getTotalCapacity() - course.getAvailableSeats();
     }
     
+    /**
+     * Take a seat in the course. A full course is a normal outcome (the caller waitlists the
+     * student), not an error.
+     */
+    public SeatReservation reserveSeat(Long courseId) {
+        Course course = getCourseById(courseId);
+        int remaining = courseRepository.reserveSeat(courseId);
+        return remaining >= 0
+                ? new SeatReservation(courseId, SeatReservationStatus.RESERVED, remaining, course.getTotalCapacity())
+                : new SeatReservation(courseId, SeatReservationStatus.FULL, 0, course.getTotalCapacity());
+    }
+    
+    /**
+     * Give a seat back to the course
+     */
+    public SeatReservation releaseSeat(Long courseId) {
+        Course course = getCourseById(courseId);
+        int available = courseRepository.releaseSeat(courseId);
+        return available >= 0
+                ? new SeatReservation(courseId, SeatReservationStatus.RELEASED, available, course.getTotalCapacity())
+                : new SeatReservation(courseId, SeatReservationStatus.NOT_RESERVED, course.getTotalCapacity(), course.getTotalCapacity());
+    }
+    
     public Course createCourse(Course course) {
         return courseRepository.save(course);
     }
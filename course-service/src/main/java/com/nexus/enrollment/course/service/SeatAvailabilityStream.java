@@ -0,0 +1,322 @@
+package com.nexus.enrollment.course.service;
+
+import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.model.SeatAvailabilityUpdate;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import com.nexus.enrollment.common.web.ExecutionMode;
+import com.nexus.enrollment.course.repository.CourseRepository;
+import io.javalin.http.sse.SseClient;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes seat count changes to Server-Sent Events clients, so pages showing availability do
+ * not have to poll for it.
+ *
+ * The repository reports which courses changed; nothing is sent from the enrollment path
+ * itself. Every SEAT_STREAM_INTERVAL_MS (default 500) the changed courses are read once and
+ * one "seats" event per course goes to each client watching it, however many seats were taken
+ * in between - a rush on one course costs its watchers one event per interval.
+ *
+ * Each client has its own queue of at most SEAT_STREAM_BUFFER_SIZE (default 256) "seats"
+ * events, written by a sender task of its own. The snapshot a client starts with is written
+ * ahead of the queue and does not count towards it, however many courses it watches. A
+ * client that falls so far behind that its queue overflows is disconnected rather than
+ * slowing down the others; it can reconnect and start over from a fresh snapshot.
+ */
+public class SeatAvailabilityStream {
+    private static final long HEARTBEAT_MILLIS = 15_000;
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String SEATS_EVENT = "seats";
+    
+    private final CourseRepository courseRepository;
+    private final int bufferSize;
+    private final Set<Long> changedCourses = ConcurrentHashMap.newKeySet();
+    // Last update sent per course, to work out the change and to route removals by department.
+    // Only touched by the flusher thread.
+    private final Map<Long, SeatAvailabilityUpdate> lastSent = new HashMap<>();
+    private final Set<Subscriber> allCourseSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> subscribersByCourse = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> subscribersByDepartment = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor senders = ExecutionMode.newExecutor("SeatStream");
+    private long lastHeartbeat = System.currentTimeMillis();
+    
+    public SeatAvailabilityStream(CourseRepository courseRepository, long intervalMillis, int bufferSize) {
+        this.courseRepository = courseRepository;
+        this.bufferSize = bufferSize;
+        courseRepository.addSeatListener(changedCourses::add);
+        for (Course course : courseRepository.findAll()) {
+            lastSent.put(course.getId(), toUpdate(course, 0));
+        }
+        
+        ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "seat-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static SeatAvailabilityStream fromEnvironment(CourseRepository courseRepository) {
+        return new SeatAvailabilityStream(courseRepository,
+                EnvironmentConfig.getLong("SEAT_STREAM_INTERVAL_MS", 500),
+                EnvironmentConfig.getInt("SEAT_STREAM_BUFFER_SIZE", 256));
+    }
+    
+    /**
+     * Start streaming to a client. It first gets a "snapshot" event per watched course, then a
+     * "seats" event whenever one of them changes.
+     * @param courseIds courses to watch
+     * @param departments departments to watch (case-insensitive); with neither, every course
+     */
+    public void subscribe(SseClient client, Set<Long> courseIds, Set<String> departments) {
+        Subscriber subscriber = new Subscriber(client, new ArrayBlockingQueue<>(bufferSize), courseIds, departments);
+        client.keepAlive();
+        client.onClose(() -> unsubscribe(subscriber));
+        
+        // Register before taking the snapshot, so a change in between is sent rather than lost
+        subscribers.add(subscriber);
+        if (subscriber.watchesEverything()) {
+            allCourseSubscribers.add(subscriber);
+        }
+        for (Long courseId : courseIds) {
+            subscribersByCourse.computeIfAbsent(courseId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        for (String department : subscriber.departments) {
+            subscribersByDepartment.computeIfAbsent(department, d -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        
+        List<Event> snapshot = new ArrayList<>();
+        for (Course course : snapshot(subscriber)) {
+            snapshot.add(new Event(SNAPSHOT_EVENT, toUpdate(course, 0)));
+        }
+        // Changes queued in the meantime are held back until the snapshot is written
+        subscriber.snapshot = snapshot;
+        subscriber.ready = true;
+        schedule(subscriber);
+    }
+    
+    /**
+     * Clients currently connected
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+    
+    private List<Course> snapshot(Subscriber subscriber) {
+        if (subscriber.watchesEverything()) {
+            return courseRepository.findAll();
+        }
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        for (Long courseId : subscriber.courseIds) {
+            courseRepository.findById(courseId).ifPresent(course -> courses.put(course.getId(), course));
+        }
+        for (String department : subscriber.departments) {
+            for (Course course : courseRepository.findByDepartment(department)) {
+                courses.putIfAbsent(course.getId(), course);
+            }
+        }
+        return new ArrayList<>(courses.values());
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        allCourseSubscribers.remove(subscriber);
+        for (Long courseId : subscriber.courseIds) {
+            removeFrom(subscribersByCourse, courseId, subscriber);
+        }
+        for (String department : subscriber.departments) {
+            removeFrom(subscribersByDepartment, department, subscriber);
+        }
+    }
+    
+    private static <K> void removeFrom(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, watchers) -> {
+            watchers.remove(subscriber);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+    
+    /**
+     * Send one event for every course that changed since the last flush
+     */
+    private void flush() {
+        try {
+            List<Long> courseIds = new ArrayList<>(changedCourses);
+            changedCourses.removeAll(courseIds);
+            for (Long courseId : courseIds) {
+                publish(courseId);
+            }
+            
+            long now = System.currentTimeMillis();
+            if (now - lastHeartbeat >= HEARTBEAT_MILLIS) {
+                // Keeps idle connections open through proxies and finds clients that went away
+                lastHeartbeat = now;
+                for (Subscriber subscriber : subscribers) {
+                    // A client with a full queue has something to receive anyway
+                    if (subscriber.queue.offer(Event.HEARTBEAT)) {
+                        schedule(subscriber);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the flusher scheduled; the next change to the course sends it again
+            System.err.println("Seat availability stream failed to publish: " + e.getMessage());
+        }
+    }
+    
+    private void publish(Long courseId) {
+        Course course = courseRepository.findById(courseId).orElse(null);
+        SeatAvailabilityUpdate previous = lastSent.get(courseId);
+        SeatAvailabilityUpdate update;
+        if (course != null) {
+            int change = previous == null ? 0 : course.getAvailableSeats() - previous.getAvailableSeats();
+            if (previous != null && change == 0 && previous.getTotalCapacity() == course.getTotalCapacity()) {
+                return; // taken and given back within the interval
+            }
+            update = toUpdate(course, change);
+            lastSent.put(courseId, update);
+        } else if (previous != null) {
+            update = new SeatAvailabilityUpdate(courseId, previous.getCourseCode(), previous.getDepartment(),
+                    0, 0, -previous.getAvailableSeats(), true);
+            lastSent.remove(courseId);
+        } else {
+            return;
+        }
+        
+        Event event = new Event(SEATS_EVENT, update);
+        for (Subscriber subscriber : watchersOf(courseId, update.getDepartment())) {
+            offer(subscriber, event);
+        }
+    }
+    
+    private Set<Subscriber> watchersOf(Long courseId, String department) {
+        Set<Subscriber> watchers = new HashSet<>(allCourseSubscribers);
+        watchers.addAll(subscribersByCourse.getOrDefault(courseId, Collections.emptySet()));
+        if (department != null) {
+            watchers.addAll(subscribersByDepartment.getOrDefault(department.toLowerCase(Locale.ROOT), Collections.emptySet()));
+        }
+        return watchers;
+    }
+    
+    private static SeatAvailabilityUpdate toUpdate(Course course, int change) {
+        return new SeatAvailabilityUpdate(course.getId(), course.getCourseCode(), course.getDepartment(),
+                course.getAvailableSeats(), course.getTotalCapacity(), change, false);
+    }
+    
+    private void offer(Subscriber subscriber, Event event) {
+        if (!subscriber.queue.offer(event)) {
+            System.err.println("Disconnecting seat stream client that fell " + bufferSize + " events behind");
+            unsubscribe(subscriber);
+            subscriber.client.close();
+            return;
+        }
+        schedule(subscriber);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+    
+    /**
+     * Write out a client's snapshot, then its queue. Only one send task runs per client at a
+     * time, so a client on a slow connection ties up its own sender and nobody else's.
+     */
+    private void send(Subscriber subscriber) {
+        if (!subscriber.ready) {
+            // Events arrived before the snapshot was taken; subscribe schedules us again
+            subscriber.sending.set(false);
+            if (subscriber.ready) {
+                schedule(subscriber);
+            }
+            return;
+        }
+        try {
+            List<Event> snapshot = subscriber.snapshot;
+            if (snapshot != null) {
+                subscriber.snapshot = null;
+                for (Event event : snapshot) {
+                    if (subscriber.client.terminated()) {
+                        break;
+                    }
+                    subscriber.client.sendEvent(event.name, event.data);
+                }
+            }
+            Event event;
+            while ((event = subscriber.queue.poll()) != null && !subscriber.client.terminated()) {
+                if (event == Event.HEARTBEAT) {
+                    subscriber.client.sendComment("heartbeat");
+                } else {
+                    subscriber.client.sendEvent(event.name, event.data);
+                }
+            }
+        } catch (RuntimeException e) {
+            subscriber.client.close();
+        } finally {
+            subscriber.sending.set(false);
+        }
+        if (subscriber.client.terminated()) {
+            unsubscribe(subscriber);
+        } else if (!subscriber.queue.isEmpty() && subscriber.sending.compareAndSet(false, true)) {
+            // An event was queued after the loop ended but before the flag was cleared
+            senders.execute(() -> send(subscriber));
+        }
+    }
+    
+    private static class Subscriber {
+        private final SseClient client;
+        private final BlockingQueue<Event> queue;
+        private final Set<Long> courseIds;
+        private final Set<String> departments;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // Set once by subscribe, before ready; taken by the sender
+        private volatile List<Event> snapshot;
+        private volatile boolean ready;
+        
+        Subscriber(SseClient client, BlockingQueue<Event> queue, Set<Long> courseIds, Set<String> departments) {
+            this.client = client;
+            this.queue = queue;
+            this.courseIds = courseIds;
+            this.departments = new HashSet<>();
+            for (String department : departments) {
+                this.departments.add(department.toLowerCase(Locale.ROOT));
+            }
+        }
+        
+        boolean watchesEverything() {
+            return courseIds.isEmpty() && departments.isEmpty();
+        }
+    }
+    
+    private static class Event {
+        private static final Event HEARTBEAT = new Event(null, null);
+        
+        private final String name;
+        private final Object data;
+        
+        Event(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
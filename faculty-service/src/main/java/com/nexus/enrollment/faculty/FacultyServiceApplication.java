@@ -2,6 +2,7 @@ package com.nexus.enrollment.faculty;
 
 import com.nexus.enrollment.common.model.Faculty;
 import com.nexus.enrollment.common.web.WebServer;
+import com.nexus.enrollment.common.service.InProcessTransport;
 import com.nexus.enrollment.faculty.repository.FacultyRepository;
 import com.nexus.enrollment.faculty.repository.InMemoryFacultyRepository;
 import com.nexus.enrollment.faculty.repository.GradeRepository;
@@ -14,7 +15,7 @@ import java.util.Arrays;
 
 public class FacultyServiceApplication {
     
-    private static final int PORT = 8083;
+    private static final int PORT = WebServer.resolvePort("FACULTY_SERVICE_PORT", 8083);
     private static FacultyHandler facultyHandler;
     
     public static void main(String[] args) {
@@ -44,14 +45,35 @@ public class FacultyServiceApplication {
         System.out.println("Faculty Service started on port " + PORT);
         System.out.println("Available endpoints:");
         
+        registerRoutes(app, facultyHandler);
+        
+        System.out.println("  GET /faculty/{id} - Get faculty by ID");
+        System.out.println("  GET /faculty/{id}/courses - Get faculty's assigned courses");
+        System.out.println("  GET /faculty/{id}/roster/{courseId} - Get class roster for a course");
+        System.out.println("  POST /faculty/{id}/grades - Submit grades for a course");
+        System.out.println("  POST /faculty/{id}/grades/bulk?onDuplicate=reject|upsert - Submit many grades at once, all or nothing, with a result per row");
+        System.out.println("  GET /faculty/{id}/grades/pending - Get pending grades for approval");
+        System.out.println("  POST /faculty/{id}/grades/approve - Approve several grades (body: {\"gradeIds\": [1, 2]} or {\"courseId\": 1})");
+        System.out.println("  POST /faculty/{id}/grades/reject - Reject several grades (same body, plus an optional reason)");
+        System.out.println("  POST /faculty/{id}/grades/{gradeId}/approve - Approve a pending grade");
+        System.out.println("  POST /faculty/{id}/grades/{gradeId}/reject - Reject a pending grade");
+        System.out.println("  GET /faculty/{id}/grades/{courseId} - Get submitted grades for a course");
+        System.out.println("  PUT /faculty/{id}/course-request - Submit course change request");
+        System.out.println("  POST /faculty/{id}/courses/{courseId} - Assign course to faculty");
+    }
+    
+    public static void registerRoutes(Javalin app, FacultyHandler facultyHandler) {
         // Faculty Service Endpoints using FacultyHandler methods
         app.get("/faculty/{id}", facultyHandler::getFacultyById);
         app.get("/faculty/{id}/courses", facultyHandler::getFacultyCourses);
         app.get("/faculty/{id}/roster/{courseId}", facultyHandler::getClassRoster);
         app.post("/faculty/{id}/grades", facultyHandler::submitGrades);
+        app.post("/faculty/{id}/grades/bulk", facultyHandler::submitGradesBulk);
         
         // Grade approval endpoints - MUST come before parameterized routes
         app.get("/faculty/{id}/grades/pending", facultyHandler::getPendingGrades);
+        app.post("/faculty/{id}/grades/approve", facultyHandler::approveGrades);
+        app.post("/faculty/{id}/grades/reject", facultyHandler::rejectGrades);
         app.post("/faculty/{id}/grades/{gradeId}/approve", facultyHandler::approveGrade);
         app.post("/faculty/{id}/grades/{gradeId}/reject", facultyHandler::rejectGrade);
         
@@ -60,20 +82,19 @@ public class FacultyServiceApplication {
         
         app.put("/faculty/{id}/course-request", facultyHandler::submitCourseRequest);
         app.post("/faculty/{id}/courses/{courseId}", facultyHandler::assignCourseToFaculty);
-        
-        System.out.println("  GET /faculty/{id} - Get faculty by ID");
-        System.out.println("  GET /faculty/{id}/courses - Get faculty's assigned courses");
-        System.out.println("  GET /faculty/{id}/roster/{courseId} - Get class roster for a course");
-        System.out.println("  POST /faculty/{id}/grades - Submit grades for a course");
-        System.out.println("  GET /faculty/{id}/grades/pending - Get pending grades for approval");
-        System.out.println("  POST /faculty/{id}/grades/{gradeId}/approve - Approve a pending grade");
-        System.out.println("  POST /faculty/{id}/grades/{gradeId}/reject - Reject a pending grade");
-        System.out.println("  GET /faculty/{id}/grades/{courseId} - Get submitted grades for a course");
-        System.out.println("  PUT /faculty/{id}/course-request - Submit course change request");
-        System.out.println("  POST /faculty/{id}/courses/{courseId} - Assign course to faculty");
     }
     
-    private static void initializeSampleData(FacultyRepository repo) {
+    /**
+     * Register the routes other services call, so that in monolith mode they are served in-process
+     */
+    public static void registerInProcessRoutes(InProcessTransport transport, FacultyService facultyService) {
+        transport
+            .route("faculty", "GET", "/faculty/{id}", request -> facultyService.getFacultyById(request.pathParamAsLong("id")))
+            .route("faculty", "GET", "/faculty/{id}/courses", request ->
+                facultyService.getAssignedCourses(request.pathParamAsLong("id")));
+    }
+    
+    public static void initializeSampleData(FacultyRepository repo) {
         Faculty faculty1 = new Faculty("Dr. Alice Johnson", "alice.johnson@university.edu", "Computer Science");
         faculty1.setAssignedCourseIds(Arrays.asList(1L, 2L));
         
@@ -13,15 +13,34 @@ import com.nexus.enrollment.faculty.service.GradeService;
 import com.nexus.enrollment.faculty.service.GradeSubmission;
 import com.nexus.enrollment.faculty.service.GradeSubmissionResult;
 import com.nexus.enrollment.faculty.service.GradeApprovalResult;
+import com.nexus.enrollment.faculty.service.BulkGradeSubmissionResult;
+import com.nexus.enrollment.faculty.service.BulkGradeApprovalResult;
+import com.nexus.enrollment.faculty.service.GradeDecisionRequest;
+import com.nexus.enrollment.faculty.service.AssignedCoursesResult;
+import com.nexus.enrollment.common.enums.DuplicateGradePolicy;
 import io.javalin.http.Context;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.javalin.http.ContentType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 public class FacultyHandler extends BaseHandler {
 
+    // Thread-safe and reused, so the submission type is introspected once rather than per request
+    private static final ObjectReader GRADE_SUBMISSION_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(GradeSubmission.class);
+    // Same configuration as the server's JSON mapper, for responses written incrementally
+    private static final ObjectMapper STREAMING_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
     private final FacultyService facultyService;
     private final GradeService gradeService;
     private final ServiceClient serviceClient;
@@ -41,26 +60,55 @@ public class FacultyHandler extends BaseHandler {
 
     public void getFacultyCourses(Context ctx) {
         Long facultyId = Long.parseLong(ctx.pathParam("id")); // NumberFormatException handled globally
-        List<Course> courses = facultyService.getAssignedCourses(facultyId);
-        ctx.json(createSuccessResponse("Faculty courses retrieved successfully", courses));
+        AssignedCoursesResult result = facultyService.getAssignedCoursesResult(facultyId);
+        if (!result.isDegraded()) {
+            ctx.json(createSuccessResponse("Faculty courses retrieved successfully", result.getCourses()));
+            return;
+        }
+        
+        // Course Service is down or slow: still answer, but say which courses may be out of date
+        StringBuilder message = new StringBuilder("Course service unavailable");
+        if (!result.getStaleCourseIds().isEmpty()) {
+            ctx.header("Warning", "110 - \"Response is Stale\"");
+            ctx.header("X-Stale-Course-Ids", joinIds(result.getStaleCourseIds()));
+            message.append("; courses ").append(joinIds(result.getStaleCourseIds())).append(" may be out of date");
+        }
+        if (!result.getUnavailableCourseIds().isEmpty()) {
+            ctx.header("X-Unavailable-Course-Ids", joinIds(result.getUnavailableCourseIds()));
+            message.append("; courses ").append(joinIds(result.getUnavailableCourseIds())).append(" could not be loaded");
+        }
+        ctx.json(createSuccessResponse(message.toString(), result.getCourses()));
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
     }
 
+    /**
+     * Write the roster out page by page as it is fetched, in the usual response envelope, so a
+     * large lecture's roster is never held in memory as a whole
+     */
     public void getClassRoster(Context ctx) {
         Long facultyId = Long.parseLong(ctx.pathParam("id"));
         Long courseId = Long.parseLong(ctx.pathParam("courseId"));
-        List<Student> roster = facultyService.getClassRoster(facultyId, courseId);
-        ctx.json(createSuccessResponse("Class roster retrieved successfully", roster));
+        RosterWriter writer = new RosterWriter(ctx);
+        try {
+            facultyService.streamClassRoster(facultyId, courseId, writer::write);
+        } catch (RuntimeException e) {
+            if (!writer.isStarted()) {
+                throw e; // Nothing sent yet, so the usual error response still applies
+            }
+            writer.fail(e.getMessage());
+            return;
+        }
+        writer.finish();
     }
 
     public void submitGrades(Context ctx) {
         Long facultyId = Long.parseLong(ctx.pathParam("id"));
         
         try {
-            // Properly deserialize the JSON body
-            String requestBody = ctx.body();
-            Gson gson = new Gson();
-            Type listType = new TypeToken<List<GradeSubmission>>(){}.getType();
-            List<GradeSubmission> gradeSubmissions = gson.fromJson(requestBody, listType);
+            List<GradeSubmission> gradeSubmissions = GRADE_SUBMISSION_READER.<GradeSubmission>readValues(ctx.bodyInputStream()).readAll();
             
             // Call the grade service to actually store the grades
             GradeSubmissionResult result = gradeService.submitGrades(facultyId, gradeSubmissions);
@@ -75,6 +123,44 @@ public class FacultyHandler extends BaseHandler {
         }
     }
 
+    /**
+     * Submit a JSON array of grades all or nothing, with a result per row. The array is read
+     * row by row from the request stream. ?onDuplicate=reject (default) or upsert decides
+     * what happens to students who already have a grade for the course.
+     */
+    public void submitGradesBulk(Context ctx) {
+        Long facultyId = Long.parseLong(ctx.pathParam("id"));
+        DuplicateGradePolicy onDuplicate = parseDuplicatePolicy(ctx.queryParam("onDuplicate"));
+        
+        BulkGradeSubmissionResult result;
+        try (MappingIterator<GradeSubmission> submissions = GRADE_SUBMISSION_READER.readValues(ctx.bodyInputStream())) {
+            result = gradeService.submitGradesBulk(facultyId, submissions, onDuplicate);
+        } catch (IOException | RuntimeException e) {
+            // Malformed JSON surfaces while iterating, as an unchecked mapping exception
+            if (e instanceof BadRequestException) {
+                throw (BadRequestException) e;
+            }
+            throw new BadRequestException("Request body must be a JSON array of grade submissions: " + e.getMessage());
+        }
+        
+        if (result.isSuccess()) {
+            ctx.json(createSuccessResponse(result.getMessage(), result));
+        } else {
+            ctx.status(400).json(createErrorResponse(result.getMessage(), result));
+        }
+    }
+
+    private static DuplicateGradePolicy parseDuplicatePolicy(String onDuplicate) {
+        if (onDuplicate == null || onDuplicate.trim().isEmpty()) {
+            return DuplicateGradePolicy.REJECT;
+        }
+        try {
+            return DuplicateGradePolicy.valueOf(onDuplicate.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("onDuplicate must be reject or upsert, got " + onDuplicate);
+        }
+    }
+
     public void getSubmittedGrades(Context ctx) {
         Long facultyId = Long.parseLong(ctx.pathParam("id"));
         Long courseId = Long.parseLong(ctx.pathParam("courseId"));
@@ -150,4 +236,109 @@ public class FacultyHandler extends BaseHandler {
             throw new BadRequestException(result.getMessage());
         }
     }
+
+    /**
+     * Approve grades in bulk. Body: {"gradeIds": [1, 2, 3]} or {"courseId": 1} for every
+     * grade of the course still pending.
+     */
+    public void approveGrades(Context ctx) {
+        Long facultyId = Long.parseLong(ctx.pathParam("id"));
+        GradeDecisionRequest request = readDecisionRequest(ctx);
+
+        BulkGradeApprovalResult result = hasGradeIds(request)
+                ? gradeService.approveGrades(facultyId, request.getGradeIds())
+                : gradeService.approvePendingGradesForCourse(facultyId, request.getCourseId());
+        ctx.json(createSuccessResponse(result.getMessage(), result));
+    }
+
+    /**
+     * Reject grades in bulk, with the same body as approveGrades plus an optional "reason"
+     */
+    public void rejectGrades(Context ctx) {
+        Long facultyId = Long.parseLong(ctx.pathParam("id"));
+        GradeDecisionRequest request = readDecisionRequest(ctx);
+        String reason = request.getReason();
+        if (reason == null || reason.trim().isEmpty()) {
+            reason = "Grade rejected by faculty";
+        }
+
+        BulkGradeApprovalResult result = hasGradeIds(request)
+                ? gradeService.rejectGrades(facultyId, request.getGradeIds(), reason)
+                : gradeService.rejectPendingGradesForCourse(facultyId, request.getCourseId(), reason);
+        ctx.json(createSuccessResponse(result.getMessage(), result));
+    }
+
+    private static GradeDecisionRequest readDecisionRequest(Context ctx) {
+        GradeDecisionRequest request = ctx.bodyAsClass(GradeDecisionRequest.class);
+        if (request == null || (!hasGradeIds(request) && request.getCourseId() == null)) {
+            throw new BadRequestException("Request body must contain gradeIds or courseId");
+        }
+        if (hasGradeIds(request) && request.getCourseId() != null) {
+            throw new BadRequestException("Give either gradeIds or courseId, not both");
+        }
+        return request;
+    }
+
+    private static boolean hasGradeIds(GradeDecisionRequest request) {
+        return request.getGradeIds() != null && !request.getGradeIds().isEmpty();
+    }
+
+    /**
+     * Writes {"data": [students...], "status": "success", "message": ...} as pages arrive.
+     * Nothing is written before the first page, so an access or lookup failure still gets a
+     * normal error response. The status comes last because it is only known once every page
+     * has been fetched: if a later page fails, the 200 has already gone out, so the data array
+     * is closed where it stopped and the document ends with "status": "error" and a message
+     * saying the roster is incomplete. Clients must check the status, not just the HTTP code.
+     */
+    private static class RosterWriter {
+        private final Context ctx;
+        private JsonGenerator json;
+
+        RosterWriter(Context ctx) {
+            this.ctx = ctx;
+        }
+
+        void write(List<Student> students) {
+            try {
+                if (json == null) {
+                    ctx.contentType(ContentType.APPLICATION_JSON);
+                    json = STREAMING_MAPPER.createGenerator(ctx.outputStream());
+                    json.writeStartObject();
+                    json.writeArrayFieldStart("data");
+                }
+                for (Student student : students) {
+                    json.writeObject(student);
+                }
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean isStarted() {
+            return json != null;
+        }
+
+        void finish() {
+            write(List.of());
+            end("success", "Class roster retrieved successfully");
+        }
+
+        void fail(String reason) {
+            end("error", "Class roster is incomplete: " + reason);
+        }
+
+        private void end(String status, String message) {
+            try {
+                json.writeEndArray();
+                json.writeStringField("status", status);
+                json.writeStringField("message", message);
+                json.writeEndObject();
+                json.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
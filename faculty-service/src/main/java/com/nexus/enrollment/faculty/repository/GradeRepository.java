@@ -1,28 +1,15 @@
 package com.nexus.enrollment.faculty.repository;
 
+import com.nexus.enrollment.common.enums.GradeStatus;
 import com.nexus.enrollment.common.model.Grade;
+import com.nexus.enrollment.common.repository.CrudRepository;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for managing Grade entities
  */
-public interface GradeRepository {
-    
-    /**
-     * Save a grade
-     */
-    Grade save(Grade grade);
-    
-    /**
-     * Find grade by ID
-     */
-    Optional<Grade> findById(Long id);
-    
-    /**
-     * Find all grades
-     */
-    List<Grade> findAll();
+public interface GradeRepository extends CrudRepository<Grade, Long> {
     
     /**
      * Find grades by student ID
@@ -45,12 +32,17 @@ public interface GradeRepository {
     Optional<Grade> findByStudentIdAndCourseId(Long studentId, Long courseId);
     
     /**
-     * Delete grade by ID
+     * Find grades a faculty member submitted for a course
+     */
+    List<Grade> findByFacultyIdAndCourseId(Long facultyId, Long courseId);
+    
+    /**
+     * Find a faculty member's grades in a status, e.g. those still PENDING
      */
-    boolean deleteById(Long id);
+    List<Grade> findByFacultyIdAndStatus(Long facultyId, GradeStatus status);
     
     /**
-     * Check if grade exists
+     * Find a faculty member's grades for a course in a status
      */
-    boolean existsById(Long id);
+    List<Grade> findByFacultyIdAndCourseIdAndStatus(Long facultyId, Long courseId, GradeStatus status);
 }
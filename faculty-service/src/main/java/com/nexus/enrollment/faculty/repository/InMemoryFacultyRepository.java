@@ -1,45 +1,25 @@
 package com.nexus.enrollment.faculty.repository;
 
 import com.nexus.enrollment.common.model.Faculty;
+import com.nexus.enrollment.common.repository.InMemoryCrudRepository;
+import com.nexus.enrollment.common.repository.SecondaryIndex;
 import java.util.*;
 
-public class InMemoryFacultyRepository implements FacultyRepository {
-    private final Map<Long, Faculty> faculty = new HashMap<>();
-    private Long nextId = 1L;
+public class InMemoryFacultyRepository extends InMemoryCrudRepository<Faculty> implements FacultyRepository {
+    private final SecondaryIndex<Faculty, String> byEmail = index(Faculty::getEmail);
     
     @Override
-    public Faculty save(Faculty facultyMember) {
-        if (facultyMember.getId() == null) {
-            facultyMember.setId(nextId++);
-        }
-        faculty.put(facultyMember.getId(), facultyMember);
-        return facultyMember;
+    protected Long getId(Faculty facultyMember) {
+        return facultyMember.getId();
     }
     
     @Override
-    public Optional<Faculty> findById(Long id) {
-        return Optional.ofNullable(faculty.get(id));
-    }
-    
-    @Override
-    public List<Faculty> findAll() {
-        return new ArrayList<>(faculty.values());
-    }
-    
-    @Override
-    public void deleteById(Long id) {
-        faculty.remove(id);
-    }
-    
-    @Override
-    public boolean existsById(Long id) {
-        return faculty.containsKey(id);
+    protected void setId(Faculty facultyMember, Long id) {
+        facultyMember.setId(id);
     }
     
     @Override
     public Optional<Faculty> findByEmail(String email) {
-        return faculty.values().stream()
-                .filter(f -> f.getEmail().equals(email))
-                .findFirst();
+        return findFirstBy(byEmail, email);
     }
 }
@@ -1,75 +1,101 @@
 package com.nexus.enrollment.faculty.repository;
 
+import com.nexus.enrollment.common.enums.GradeStatus;
 import com.nexus.enrollment.common.model.Grade;
+import com.nexus.enrollment.common.repository.InMemoryCrudRepository;
+import com.nexus.enrollment.common.repository.SecondaryIndex;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
- * In-memory implementation of GradeRepository
+ * In-memory implementation of GradeRepository.
+ *
+ * Every finder is answered from an index, so it costs O(result) however many grades have been
+ * submitted. Status is part of some index keys; approving or rejecting a grade and saving it
+ * moves it to its new buckets.
  */
-public class InMemoryGradeRepository implements GradeRepository {
-    private final Map<Long, Grade> grades = new HashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+public class InMemoryGradeRepository extends InMemoryCrudRepository<Grade> implements GradeRepository {
+    private final SecondaryIndex<Grade, Long> byStudentId = index(Grade::getStudentId);
+    private final SecondaryIndex<Grade, Long> byCourseId = index(Grade::getCourseId);
+    private final SecondaryIndex<Grade, Long> byFacultyId = index(Grade::getFacultyId);
+    private final SecondaryIndex<Grade, Key> byStudentAndCourse = index(grade -> new Key(grade.getStudentId(), grade.getCourseId()));
+    private final SecondaryIndex<Grade, Key> byFacultyAndCourse = index(grade -> new Key(grade.getFacultyId(), grade.getCourseId()));
+    private final SecondaryIndex<Grade, Key> byFacultyAndStatus = index(grade -> new Key(grade.getFacultyId(), grade.getStatus()));
+    private final SecondaryIndex<Grade, Key> byFacultyCourseAndStatus = index(grade ->
+            new Key(grade.getFacultyId(), grade.getCourseId(), grade.getStatus()));
     
     @Override
-    public Grade save(Grade grade) {
-        if (grade.getId() == null) {
-            grade.setId(idGenerator.getAndIncrement());
-        }
-        grades.put(grade.getId(), grade);
-        return grade;
+    protected Long getId(Grade grade) {
+        return grade.getId();
     }
     
     @Override
-    public Optional<Grade> findById(Long id) {
-        return Optional.ofNullable(grades.get(id));
-    }
-    
-    @Override
-    public List<Grade> findAll() {
-        return grades.values().stream().collect(Collectors.toList());
+    protected void setId(Grade grade, Long id) {
+        grade.setId(id);
     }
     
     @Override
     public List<Grade> findByStudentId(Long studentId) {
-        return grades.values().stream()
-                .filter(grade -> grade.getStudentId().equals(studentId))
-                .collect(Collectors.toList());
+        return findAllBy(byStudentId, studentId);
     }
     
     @Override
     public List<Grade> findByCourseId(Long courseId) {
-        return grades.values().stream()
-                .filter(grade -> grade.getCourseId().equals(courseId))
-                .collect(Collectors.toList());
+        return findAllBy(byCourseId, courseId);
     }
     
     @Override
     public List<Grade> findByFacultyId(Long facultyId) {
-        return grades.values().stream()
-                .filter(grade -> grade.getFacultyId().equals(facultyId))
-                .collect(Collectors.toList());
+        return findAllBy(byFacultyId, facultyId);
     }
     
     @Override
     public Optional<Grade> findByStudentIdAndCourseId(Long studentId, Long courseId) {
-        return grades.values().stream()
-                .filter(grade -> grade.getStudentId().equals(studentId) && 
-                               grade.getCourseId().equals(courseId))
-                .findFirst();
+        return findFirstBy(byStudentAndCourse, new Key(studentId, courseId));
+    }
+    
+    @Override
+    public List<Grade> findByFacultyIdAndCourseId(Long facultyId, Long courseId) {
+        return findAllBy(byFacultyAndCourse, new Key(facultyId, courseId));
     }
     
     @Override
-    public boolean deleteById(Long id) {
-        return grades.remove(id) != null;
+    public List<Grade> findByFacultyIdAndStatus(Long facultyId, GradeStatus status) {
+        return withStatus(findAllBy(byFacultyAndStatus, new Key(facultyId, status)), status);
     }
     
     @Override
-    public boolean existsById(Long id) {
-        return grades.containsKey(id);
+    public List<Grade> findByFacultyIdAndCourseIdAndStatus(Long facultyId, Long courseId, GradeStatus status) {
+        return withStatus(findAllBy(byFacultyCourseAndStatus, new Key(facultyId, courseId, status)), status);
+    }
+    
+    // A grade whose status was changed but that has not been saved yet is still in its old bucket
+    private static List<Grade> withStatus(List<Grade> grades, GradeStatus status) {
+        return grades.stream()
+                .filter(grade -> grade.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Index key made of several fields, e.g. (studentId, courseId)
+     */
+    private static final class Key {
+        private final Object[] parts;
+        
+        Key(Object... parts) {
+            this.parts = parts;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && Arrays.equals(parts, ((Key) other).parts);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(parts);
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.nexus.enrollment.faculty.service;
+
+import com.nexus.enrollment.common.model.Course;
+import java.util.List;
+
+/**
+ * A faculty member's courses, with those served from the last-known-good copy because Course
+ * Service could not be reached, and those that could not be served at all
+ */
+public class AssignedCoursesResult {
+    private final List<Course> courses;
+    private final List<Long> staleCourseIds;
+    private final List<Long> unavailableCourseIds;
+    
+    public AssignedCoursesResult(List<Course> courses, List<Long> staleCourseIds, List<Long> unavailableCourseIds) {
+        this.courses = courses;
+        this.staleCourseIds = staleCourseIds;
+        this.unavailableCourseIds = unavailableCourseIds;
+    }
+    
+    public List<Course> getCourses() {
+        return courses;
+    }
+    
+    public List<Long> getStaleCourseIds() {
+        return staleCourseIds;
+    }
+    
+    public List<Long> getUnavailableCourseIds() {
+        return unavailableCourseIds;
+    }
+    
+    /**
+     * Whether any course is missing or may be out of date
+     */
+    public boolean isDegraded() {
+        return !staleCourseIds.isEmpty() || !unavailableCourseIds.isEmpty();
+    }
+}
@@ -0,0 +1,44 @@
+package com.nexus.enrollment.faculty.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of approving or rejecting several grades, with one result per grade id
+ */
+public class BulkGradeApprovalResult {
+    private final boolean success;
+    private final String message;
+    private final int succeeded;
+    private final int failed;
+    private final Map<Long, GradeApprovalResult> results;
+    
+    public BulkGradeApprovalResult(boolean success, String message, int succeeded, int failed,
+                                   Map<Long, GradeApprovalResult> results) {
+        this.success = success;
+        this.message = message;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results != null ? results : new LinkedHashMap<>();
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public Map<Long, GradeApprovalResult> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nexus.enrollment.faculty.service;
+
+import com.nexus.enrollment.common.enums.DuplicateGradePolicy;
+import java.util.List;
+
+public class BulkGradeSubmissionResult {
+    private boolean success;
+    private String message;
+    private DuplicateGradePolicy onDuplicate;
+    private List<GradeRowResult> rows;
+    
+    public BulkGradeSubmissionResult(boolean success, String message, DuplicateGradePolicy onDuplicate, List<GradeRowResult> rows) {
+        this.success = success;
+        this.message = message;
+        this.onDuplicate = onDuplicate;
+        this.rows = rows;
+    }
+    
+    // Getters and setters
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public DuplicateGradePolicy getOnDuplicate() { return onDuplicate; }
+    public void setOnDuplicate(DuplicateGradePolicy onDuplicate) { this.onDuplicate = onDuplicate; }
+    
+    public List<GradeRowResult> getRows() { return rows; }
+    public void setRows(List<GradeRowResult> rows) { this.rows = rows; }
+}
@@ -3,20 +3,49 @@ package com.nexus.enrollment.faculty.service;
 import com.nexus.enrollment.common.model.Faculty;
 import com.nexus.enrollment.common.model.Course;
 import com.nexus.enrollment.common.model.Student;
+import com.nexus.enrollment.common.model.PagedResult;
+import com.nexus.enrollment.common.cache.LastKnownGoodCache;
 import com.nexus.enrollment.common.exceptions.NotFoundException;
-import com.nexus.enrollment.common.service.ServiceClient;
+import com.nexus.enrollment.common.exceptions.SystemException;
+import com.nexus.enrollment.common.registries.CourseServiceRegistry;
+import com.nexus.enrollment.common.registries.StudentServiceRegistry;
+import com.nexus.enrollment.common.resilience.CircuitBreaker;
+import com.nexus.enrollment.common.resilience.ServiceGuard;
 import com.nexus.enrollment.common.service.ServiceResponse;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
 import com.nexus.enrollment.faculty.repository.FacultyRepository;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 public class FacultyService {
+    private static final int ROSTER_PAGE_SIZE = 200;
+    
     private final FacultyRepository facultyRepository;
-    private final ServiceClient serviceClient;
+    private final LastKnownGoodCache<Long, Course> lastKnownCourses = new LastKnownGoodCache<>(
+            EnvironmentConfig.getInt("FACULTY_COURSE_FALLBACK_MAX_ENTRIES", 10_000));
+    private final long courseFetchTimeoutMillis = EnvironmentConfig.getLong("FACULTY_COURSE_FETCH_TIMEOUT_MS", 1000);
+    private final long courseRefreshDelayMillis = EnvironmentConfig.getLong("FACULTY_COURSE_REFRESH_DELAY_MS", 1000);
+    // Course lists with a background refresh scheduled or in flight, so each has at most one
+    private final Set<List<Long>> refreshesPending = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "faculty-course-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     public FacultyService(FacultyRepository facultyRepository) {
         this.facultyRepository = facultyRepository;
-        this.serviceClient = new ServiceClient();
     }
     
     public Faculty getFacultyById(Long id) {
@@ -25,35 +54,151 @@ public class FacultyService {
     }
     
     public List<Course> getAssignedCourses(Long facultyId) {
+        return getAssignedCoursesResult(facultyId).getCourses();
+    }
+    
+    /**
+     * The faculty member's courses, fetched from Course Service in one batched round trip.
+     *
+     * Every course fetched is remembered. If Course Service fails, or has not answered within
+     * FACULTY_COURSE_FETCH_TIMEOUT_MS (default 1000), a copy of the remembered course is
+     * returned instead and its id listed as stale; a course never fetched before is listed as
+     * unavailable. While the Course Service breaker is not closed, the remembered copies are
+     * returned straight away without waiting on a call.
+     *
+     * Whenever stale courses are served, the list is fetched again in the background
+     * FACULTY_COURSE_REFRESH_DELAY_MS (default 1000) later, to refresh the remembered copies.
+     * While the breaker stays open the refresh waits another delay instead of being rejected.
+     */
+    public AssignedCoursesResult getAssignedCoursesResult(Long facultyId) {
         Faculty faculty = getFacultyById(facultyId);
         List<Long> assignedCourseIds = faculty.getAssignedCourseIds();
         
-        // Use Course Service to get actual course details instead of mock data
+        CircuitBreaker.State breaker = ServiceGuard.forService("course").getState();
+        if (breaker != CircuitBreaker.State.CLOSED) {
+            return lastKnownGood(facultyId, assignedCourseIds, "circuit breaker is " + breaker);
+        }
+        
+        ServiceResponse<Map<Long, Course>> response = awaitCourses(fetchCourses(assignedCourseIds));
+        if (!response.isSuccess() || response.getData() == null) {
+            return lastKnownGood(facultyId, assignedCourseIds, response.getMessage());
+        }
+        
         List<Course> courses = new ArrayList<>();
         for (Long courseId : assignedCourseIds) {
-            ServiceResponse<Course> courseResponse = serviceClient.get("course", "/courses/" + courseId, Course.class);
-            if (courseResponse.isSuccess()) {
-                courses.add(courseResponse.getData());
+            Course course = response.getData().get(courseId);
+            if (course != null) {
+                courses.add(course);
+            }
+        }
+        return new AssignedCoursesResult(courses, Collections.emptyList(), Collections.emptyList());
+    }
+    
+    private CompletableFuture<ServiceResponse<Map<Long, Course>>> fetchCourses(List<Long> courseIds) {
+        return CourseServiceRegistry.getLiveCoursesAsync(courseIds)
+                .thenApply(response -> {
+                    if (response.isSuccess() && response.getData() != null) {
+                        remember(courseIds, response.getData());
+                    }
+                    return response;
+                });
+    }
+    
+    private AssignedCoursesResult lastKnownGood(Long facultyId, List<Long> courseIds, String reason) {
+        List<Course> courses = new ArrayList<>();
+        List<Long> staleCourseIds = new ArrayList<>();
+        List<Long> unavailableCourseIds = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            Course course = lastKnownCourses.get(courseId);
+            if (course != null) {
+                courses.add(course.copy());
+                staleCourseIds.add(courseId);
             } else {
-                // Fallback to mock data if Course Service is unavailable
-                Course mockCourse = createMockCourse(courseId);
-                courses.add(mockCourse);
+                unavailableCourseIds.add(courseId);
             }
         }
-        
-        return courses;
+        System.err.println("Course Service unavailable for faculty " + facultyId + " (" + reason
+                + "), serving " + staleCourseIds.size() + " courses from last known good copy");
+        scheduleRefresh(new ArrayList<>(courseIds));
+        return new AssignedCoursesResult(courses, staleCourseIds, unavailableCourseIds);
+    }
+    
+    private void scheduleRefresh(List<Long> courseIds) {
+        if (refreshesPending.add(courseIds)) {
+            refresher.schedule(() -> refresh(courseIds), courseRefreshDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void refresh(List<Long> courseIds) {
+        if (ServiceGuard.forService("course").getState() == CircuitBreaker.State.OPEN) {
+            refresher.schedule(() -> refresh(courseIds), courseRefreshDelayMillis, TimeUnit.MILLISECONDS);
+            return;
+        }
+        try {
+            fetchCourses(courseIds).whenComplete((response, error) -> refreshesPending.remove(courseIds));
+        } catch (RuntimeException e) {
+            refreshesPending.remove(courseIds);
+            System.err.println("Could not refresh courses " + courseIds + ": " + e.getMessage());
+        }
+    }
+    
+    // Keep the latest copy of every course fetched, and forget courses Course Service no longer has
+    private void remember(List<Long> courseIds, Map<Long, Course> fetched) {
+        for (Long courseId : courseIds) {
+            Course course = fetched.get(courseId);
+            if (course != null) {
+                lastKnownCourses.put(courseId, course.copy());
+            } else {
+                lastKnownCourses.remove(courseId);
+            }
+        }
+    }
+    
+    private ServiceResponse<Map<Long, Course>> awaitCourses(CompletableFuture<ServiceResponse<Map<Long, Course>>> fetch) {
+        try {
+            return fetch.get(courseFetchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return ServiceResponse.error("no answer within " + courseFetchTimeoutMillis + " ms");
+        } catch (ExecutionException e) {
+            return ServiceResponse.error(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ServiceResponse.error("interrupted while waiting for Course Service");
+        }
     }
     
     public List<Student> getClassRoster(Long facultyId, Long courseId) {
+        List<Student> roster = new ArrayList<>();
+        streamClassRoster(facultyId, courseId, roster::addAll);
+        return roster;
+    }
+    
+    /**
+     * Hand the students enrolled in the course to the consumer one page at a time, as the pages
+     * arrive from Student Service. The next page is requested before the consumer gets the
+     * current one, so fetching and writing out a large roster overlap. Access is checked and
+     * the first page fetched before the consumer is called for the first time.
+     */
+    public void streamClassRoster(Long facultyId, Long courseId, Consumer<List<Student>> pageConsumer) {
         // Verify faculty has access to this course
         Faculty faculty = getFacultyById(facultyId);
         if (!faculty.getAssignedCourseIds().contains(courseId)) {
             throw new IllegalArgumentException("Faculty does not have access to course " + courseId);
         }
         
-        // Use Student Service to get enrolled students for this course
-        // This is a simplified implementation - in reality would need to call Student Service
-        return new ArrayList<>(); // Placeholder
+        CompletableFuture<ServiceResponse<PagedResult<Student>>> nextPage =
+                StudentServiceRegistry.getStudentsByCourseAsync(courseId, 0, ROSTER_PAGE_SIZE);
+        while (nextPage != null) {
+            ServiceResponse<PagedResult<Student>> response = nextPage.join();
+            if (!response.isSuccess() || response.getData() == null) {
+                throw new SystemException("Could not load roster for course " + courseId + ": " + response.getMessage());
+            }
+            PagedResult<Student> page = response.getData();
+            nextPage = page.isHasMore() && !page.getItems().isEmpty()
+                    ? StudentServiceRegistry.getStudentsByCourseAsync(courseId, page.getOffset() + page.getItems().size(), ROSTER_PAGE_SIZE)
+                    : null;
+            pageConsumer.accept(page.getItems());
+        }
     }
     
     public Faculty createFaculty(Faculty faculty) {
@@ -86,32 +231,4 @@ public class FacultyService {
             facultyRepository.save(faculty);
         }
     }
-    
-    private Course createMockCourse(Long courseId) {
-        // Create mock course data based on course ID as fallback
-        Course course;
-        switch (courseId.intValue()) {
-            case 1:
-                course = new Course("CS101", "Introduction to Computer Science", 
-                    "Basic programming concepts and problem solving", 1L, 
-                    "Computer Science", 30, null);
-                break;
-            case 2:
-                course = new Course("CS201", "Data Structures", 
-                    "Algorithms and data structures", 1L, 
-                    "Computer Science", 25, null);
-                break;
-            case 3:
-                course = new Course("MATH101", "Calculus I", 
-                    "Differential and integral calculus", 2L, 
-                    "Mathematics", 35, null);
-                break;
-            default:
-                course = new Course("UNKNOWN", "Unknown Course", 
-                    "Course details not available", 0L, 
-                    "Unknown", 0, null);
-        }
-        course.setId(courseId);
-        return course;
-    }
 }
@@ -0,0 +1,32 @@
+package com.nexus.enrollment.faculty.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grades to approve or reject at once: either the listed grade ids, or every grade of
+ * courseId still pending. reason is only used when rejecting.
+ */
+public class GradeDecisionRequest {
+    private List<Long> gradeIds = new ArrayList<>();
+    private Long courseId;
+    private String reason;
+    
+    public GradeDecisionRequest() {}
+    
+    public GradeDecisionRequest(List<Long> gradeIds, Long courseId, String reason) {
+        this.gradeIds = gradeIds;
+        this.courseId = courseId;
+        this.reason = reason;
+    }
+    
+    // Getters and setters
+    public List<Long> getGradeIds() { return gradeIds; }
+    public void setGradeIds(List<Long> gradeIds) { this.gradeIds = gradeIds; }
+    
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,44 @@
+package com.nexus.enrollment.faculty.service;
+
+import com.nexus.enrollment.common.enums.GradeRowStatus;
+
+public class GradeRowResult {
+    private int row;
+    private Long studentId;
+    private Long courseId;
+    private GradeRowStatus status;
+    private Long gradeId;
+    private String message;
+    
+    public GradeRowResult(int row, Long studentId, Long courseId, GradeRowStatus status, Long gradeId, String message) {
+        this.row = row;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.status = status;
+        this.gradeId = gradeId;
+        this.message = message;
+    }
+    
+    // Getters and setters
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+    
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public GradeRowStatus getStatus() { return status; }
+    public void setStatus(GradeRowStatus status) { this.status = status; }
+    
+    public Long getGradeId() { return gradeId; }
+    public void setGradeId(Long gradeId) { this.gradeId = gradeId; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public boolean isSaved() {
+        return status == GradeRowStatus.CREATED || status == GradeRowStatus.UPDATED;
+    }
+}
@@ -1,14 +1,26 @@
 package com.nexus.enrollment.faculty.service;
 
 import com.nexus.enrollment.common.model.Grade;
+import com.nexus.enrollment.common.enums.DuplicateGradePolicy;
+import com.nexus.enrollment.common.enums.GradeRowStatus;
 import com.nexus.enrollment.common.enums.GradeStatus;
 import com.nexus.enrollment.faculty.repository.GradeRepository;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 public class GradeService {
     private final GradeRepository gradeRepository;
+    // Every path that writes a grade holds its (student, course) lock, so a bulk submission,
+    // a single submission and an approval of the same grade never interleave
+    private final GradeWriteGuard writeGuard = new GradeWriteGuard();
     
     public GradeService(GradeRepository gradeRepository) {
         this.gradeRepository = gradeRepository;
@@ -26,7 +38,7 @@ public class GradeService {
                     facultyId
                 );
                 grade.setStatus(GradeStatus.PENDING); // Initial status is PENDING, requires approval
-                gradeRepository.save(grade);
+                writeGuard.withGrade(grade.getStudentId(), grade.getCourseId(), () -> gradeRepository.save(grade));
                 submittedGrades.add(grade);
             }
             
@@ -36,74 +48,290 @@ public class GradeService {
         }
     }
     
+    /**
+     * Submit a batch of grades, all or nothing.
+     *
+     * Rows are taken from the iterator one at a time and validated as they arrive; every row is
+     * kept until the whole batch has been checked against existing grades and saved. A row is
+     * rejected if it is incomplete, repeats an earlier row's student and course, or - with
+     * REJECT - the student already has a grade for the course. Grade values are not checked
+     * against a list, the same as for single submissions. With UPSERT an existing grade by the
+     * same faculty member is overwritten and goes back to PENDING. If any row is rejected
+     * nothing is saved; every row gets a result either way.
+     */
+    public BulkGradeSubmissionResult submitGradesBulk(Long facultyId, Iterator<GradeSubmission> submissions,
+                                                      DuplicateGradePolicy onDuplicate) {
+        List<GradeSubmission> rows = new ArrayList<>();
+        List<GradeRowResult> results = new ArrayList<>();
+        Map<List<Long>, Integer> rowByStudentAndCourse = new HashMap<>();
+        int rejected = 0;
+        
+        while (submissions.hasNext()) {
+            GradeSubmission submission = submissions.next();
+            int row = rows.size();
+            rows.add(submission);
+            String problem = validate(submission);
+            if (problem == null) {
+                Integer earlier = rowByStudentAndCourse.putIfAbsent(
+                        Arrays.asList(submission.getStudentId(), submission.getCourseId()), row);
+                if (earlier != null) {
+                    problem = "Same student and course as row " + earlier;
+                }
+            }
+            if (problem != null) {
+                rejected++;
+                results.add(rowResult(row, submission, GradeRowStatus.INVALID, null, problem));
+            } else {
+                results.add(null);
+            }
+        }
+        if (rows.isEmpty()) {
+            return new BulkGradeSubmissionResult(false, "No grades submitted", onDuplicate, results);
+        }
+        
+        int invalid = rejected;
+        return writeGuard.withGrades(rowByStudentAndCourse.keySet(),
+                () -> checkAndSave(facultyId, rows, results, onDuplicate, invalid));
+    }
+    
+    /**
+     * Check the rows against existing grades and save them. Runs holding the locks of every
+     * row's student and course.
+     */
+    private BulkGradeSubmissionResult checkAndSave(Long facultyId, List<GradeSubmission> rows, List<GradeRowResult> results,
+                                                   DuplicateGradePolicy onDuplicate, int rejected) {
+        Map<Integer, Grade> existingGrades = new HashMap<>();
+        for (int row = 0; row < rows.size(); row++) {
+            if (results.get(row) != null) {
+                continue;
+            }
+            GradeSubmission submission = rows.get(row);
+            Optional<Grade> existing = gradeRepository.findByStudentIdAndCourseId(submission.getStudentId(), submission.getCourseId());
+            if (!existing.isPresent()) {
+                continue;
+            }
+            Grade grade = existing.get();
+            if (onDuplicate == DuplicateGradePolicy.REJECT) {
+                rejected++;
+                results.set(row, rowResult(row, submission, GradeRowStatus.DUPLICATE, grade.getId(),
+                        "Student already has a grade for this course"));
+            } else if (!facultyId.equals(grade.getFacultyId())) {
+                rejected++;
+                results.set(row, rowResult(row, submission, GradeRowStatus.DUPLICATE, grade.getId(),
+                        "Existing grade was submitted by another faculty member"));
+            } else {
+                existingGrades.put(row, grade);
+            }
+        }
+        
+        if (rejected > 0) {
+            String message = rejected + " of " + rows.size() + " rows rejected, no grades were saved";
+            return new BulkGradeSubmissionResult(false, message, onDuplicate, notSaved(rows, results, message));
+        }
+        
+        try {
+            saveAll(facultyId, rows, existingGrades, results);
+        } catch (RuntimeException e) {
+            String message = "Failed to save grades, no grades were saved: " + e.getMessage();
+            Collections.fill(results, null);
+            return new BulkGradeSubmissionResult(false, message, onDuplicate, notSaved(rows, results, message));
+        }
+        
+        int updated = (int) results.stream().filter(result -> result.getStatus() == GradeRowStatus.UPDATED).count();
+        return new BulkGradeSubmissionResult(true, rows.size() + " grades submitted (" + (rows.size() - updated)
+                + " created, " + updated + " updated)", onDuplicate, results);
+    }
+    
+    /**
+     * Write every row, undoing the rows already written if one fails. The undo only puts a
+     * grade back if it still holds what this batch wrote.
+     */
+    private void saveAll(Long facultyId, List<GradeSubmission> rows, Map<Integer, Grade> existingGrades,
+                         List<GradeRowResult> results) {
+        List<Runnable> undo = new ArrayList<>();
+        try {
+            for (int row = 0; row < rows.size(); row++) {
+                GradeSubmission submission = rows.get(row);
+                Grade grade = existingGrades.get(row);
+                if (grade == null) {
+                    Grade created = new Grade(submission.getStudentId(), submission.getCourseId(), submission.getGrade(), facultyId);
+                    created.setStatus(GradeStatus.PENDING); // Initial status is PENDING, requires approval
+                    gradeRepository.save(created);
+                    undo.add(() -> {
+                        if (isUnchanged(created, submission)) {
+                            gradeRepository.deleteById(created.getId());
+                        }
+                    });
+                    results.set(row, rowResult(row, submission, GradeRowStatus.CREATED, created.getId(), null));
+                } else {
+                    String previousValue = grade.getGradeValue();
+                    GradeStatus previousStatus = grade.getStatus();
+                    grade.setGradeValue(submission.getGrade());
+                    grade.setStatus(GradeStatus.PENDING); // A changed grade needs approval again
+                    gradeRepository.save(grade);
+                    undo.add(() -> {
+                        if (isUnchanged(grade, submission)) {
+                            grade.setGradeValue(previousValue);
+                            grade.setStatus(previousStatus);
+                            gradeRepository.save(grade);
+                        }
+                    });
+                    results.set(row, rowResult(row, submission, GradeRowStatus.UPDATED, grade.getId(), null));
+                }
+            }
+        } catch (RuntimeException e) {
+            Collections.reverse(undo);
+            undo.forEach(Runnable::run);
+            throw e;
+        }
+    }
+    
+    // Still the pending value this batch wrote, i.e. nobody decided on or replaced it since
+    private static boolean isUnchanged(Grade grade, GradeSubmission submission) {
+        return grade.getStatus() == GradeStatus.PENDING && Objects.equals(grade.getGradeValue(), submission.getGrade());
+    }
+    
+    private static String validate(GradeSubmission submission) {
+        if (submission == null) {
+            return "Row is empty";
+        }
+        if (submission.getStudentId() == null) {
+            return "studentId is required";
+        }
+        if (submission.getCourseId() == null) {
+            return "courseId is required";
+        }
+        if (submission.getGrade() == null || submission.getGrade().trim().isEmpty()) {
+            return "grade is required";
+        }
+        return null;
+    }
+    
+    // Rows that were fine on their own but not saved because the batch was not
+    private static List<GradeRowResult> notSaved(List<GradeSubmission> rows, List<GradeRowResult> results, String message) {
+        for (int row = 0; row < rows.size(); row++) {
+            if (results.get(row) == null) {
+                results.set(row, rowResult(row, rows.get(row), GradeRowStatus.NOT_SAVED, null, message));
+            }
+        }
+        return results;
+    }
+    
+    private static GradeRowResult rowResult(int row, GradeSubmission submission, GradeRowStatus status, Long gradeId, String message) {
+        Long studentId = submission != null ? submission.getStudentId() : null;
+        Long courseId = submission != null ? submission.getCourseId() : null;
+        return new GradeRowResult(row, studentId, courseId, status, gradeId, message);
+    }
+    
     public List<Grade> getSubmittedGrades(Long facultyId, Long courseId) {
-        return gradeRepository.findByCourseId(courseId).stream()
-                .filter(grade -> grade.getFacultyId().equals(facultyId))
-                .collect(Collectors.toList());
+        return gradeRepository.findByFacultyIdAndCourseId(facultyId, courseId);
     }
     
     public List<Grade> getPendingGrades(Long facultyId) {
-        return gradeRepository.findByFacultyId(facultyId).stream()
-                .filter(grade -> grade.getStatus() == GradeStatus.PENDING)
-                .collect(Collectors.toList());
+        return gradeRepository.findByFacultyIdAndStatus(facultyId, GradeStatus.PENDING);
     }
     
     public List<Grade> getPendingGradesForCourse(Long facultyId, Long courseId) {
-        return gradeRepository.findByCourseId(courseId).stream()
-                .filter(grade -> grade.getFacultyId().equals(facultyId) && 
-                               grade.getStatus() == GradeStatus.PENDING)
-                .collect(Collectors.toList());
+        return gradeRepository.findByFacultyIdAndCourseIdAndStatus(facultyId, courseId, GradeStatus.PENDING);
     }
     
     public GradeApprovalResult approveGrade(Long facultyId, Long gradeId) {
-        try {
-            Grade grade = gradeRepository.findById(gradeId)
-                    .orElse(null);
-            
-            if (grade == null) {
-                return new GradeApprovalResult(false, "Grade not found", null);
-            }
-            
-            if (!grade.getFacultyId().equals(facultyId)) {
-                return new GradeApprovalResult(false, "Faculty does not have permission to approve this grade", null);
+        return decide(facultyId, gradeRepository.findById(gradeId).orElse(null), true, null);
+    }
+    
+    public GradeApprovalResult rejectGrade(Long facultyId, Long gradeId, String reason) {
+        return decide(facultyId, gradeRepository.findById(gradeId).orElse(null), false, reason);
+    }
+    
+    /**
+     * Approve several grades in one pass, each on its own: a grade that cannot be approved
+     * does not hold back the others
+     */
+    public BulkGradeApprovalResult approveGrades(Long facultyId, List<Long> gradeIds) {
+        return decideAll(facultyId, findGrades(gradeIds), true, null);
+    }
+    
+    public BulkGradeApprovalResult rejectGrades(Long facultyId, List<Long> gradeIds, String reason) {
+        return decideAll(facultyId, findGrades(gradeIds), false, reason);
+    }
+    
+    /**
+     * Approve every grade of the course still pending with this faculty member
+     */
+    public BulkGradeApprovalResult approvePendingGradesForCourse(Long facultyId, Long courseId) {
+        return decideAll(facultyId, pendingGradesById(facultyId, courseId), true, null);
+    }
+    
+    public BulkGradeApprovalResult rejectPendingGradesForCourse(Long facultyId, Long courseId, String reason) {
+        return decideAll(facultyId, pendingGradesById(facultyId, courseId), false, reason);
+    }
+    
+    // Requested ids in order, without repeats; ids with no grade map to null
+    private Map<Long, Grade> findGrades(List<Long> gradeIds) {
+        Map<Long, Grade> grades = new LinkedHashMap<>();
+        for (Long gradeId : gradeIds) {
+            if (gradeId != null && !grades.containsKey(gradeId)) {
+                grades.put(gradeId, gradeRepository.findById(gradeId).orElse(null));
             }
-            
-            if (grade.getStatus() != GradeStatus.PENDING) {
-                return new GradeApprovalResult(false, "Grade is not in PENDING status", null);
+        }
+        return grades;
+    }
+    
+    private Map<Long, Grade> pendingGradesById(Long facultyId, Long courseId) {
+        Map<Long, Grade> grades = new LinkedHashMap<>();
+        for (Grade grade : getPendingGradesForCourse(facultyId, courseId)) {
+            grades.put(grade.getId(), grade);
+        }
+        return grades;
+    }
+    
+    private BulkGradeApprovalResult decideAll(Long facultyId, Map<Long, Grade> grades, boolean approve, String reason) {
+        Map<Long, GradeApprovalResult> results = new LinkedHashMap<>();
+        int succeeded = 0;
+        for (Map.Entry<Long, Grade> entry : grades.entrySet()) {
+            GradeApprovalResult result = decide(facultyId, entry.getValue(), approve, reason);
+            results.put(entry.getKey(), result);
+            if (result.isSuccess()) {
+                succeeded++;
             }
-            
-            grade.setStatus(GradeStatus.SUBMITTED);
-            gradeRepository.save(grade);
-            
-            return new GradeApprovalResult(true, "Grade approved successfully", grade);
-        } catch (Exception e) {
-            return new GradeApprovalResult(false, "Failed to approve grade: " + e.getMessage(), null);
         }
+        int failed = results.size() - succeeded;
+        String message = succeeded + " of " + results.size() + " grades " + (approve ? "approved" : "rejected");
+        return new BulkGradeApprovalResult(failed == 0, message, succeeded, failed, results);
     }
     
-    public GradeApprovalResult rejectGrade(Long facultyId, Long gradeId, String reason) {
+    /**
+     * Move a PENDING grade to SUBMITTED (approve) or REJECTED. The status is checked and
+     * changed while holding the grade's write lock, so of two concurrent decisions on the same
+     * grade exactly one succeeds, and none lands in the middle of a bulk overwrite.
+     */
+    private GradeApprovalResult decide(Long facultyId, Grade grade, boolean approve, String reason) {
+        String action = approve ? "approve" : "reject";
         try {
-            Grade grade = gradeRepository.findById(gradeId)
-                    .orElse(null);
-            
             if (grade == null) {
                 return new GradeApprovalResult(false, "Grade not found", null);
             }
             
-            if (!grade.getFacultyId().equals(facultyId)) {
-                return new GradeApprovalResult(false, "Faculty does not have permission to reject this grade", null);
+            if (!facultyId.equals(grade.getFacultyId())) {
+                return new GradeApprovalResult(false, "Faculty does not have permission to " + action + " this grade", null);
             }
             
-            if (grade.getStatus() != GradeStatus.PENDING) {
+            boolean decided = writeGuard.withGrade(grade.getStudentId(), grade.getCourseId(), () -> {
+                if (grade.getStatus() != GradeStatus.PENDING) {
+                    return false;
+                }
+                
+                grade.setStatus(approve ? GradeStatus.SUBMITTED : GradeStatus.REJECTED);
+                gradeRepository.save(grade);
+                return true;
+            });
+            if (!decided) {
                 return new GradeApprovalResult(false, "Grade is not in PENDING status", null);
             }
             
-            grade.setStatus(GradeStatus.REJECTED);
-            gradeRepository.save(grade);
-            
-            return new GradeApprovalResult(true, "Grade rejected: " + reason, grade);
+            return new GradeApprovalResult(true, approve ? "Grade approved successfully" : "Grade rejected: " + reason, grade);
         } catch (Exception e) {
-            return new GradeApprovalResult(false, "Failed to reject grade: " + e.getMessage(), null);
+            return new GradeApprovalResult(false, "Failed to " + action + " grade: " + e.getMessage(), null);
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.nexus.enrollment.common.cache;
+
+/**
+ * Point-in-time snapshot of an ExpiringCache's counters
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long coalescedLoads;
+    private final long evictions;
+    private final int size;
+    
+    public CacheStats(long hits, long misses, long coalescedLoads, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.coalescedLoads = coalescedLoads;
+        this.evictions = evictions;
+        this.size = size;
+    }
+    
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getCoalescedLoads() { return coalescedLoads; }
+    public long getEvictions() { return evictions; }
+    public int getSize() { return size; }
+    
+    public double getHitRate() {
+        long total = hits + misses + coalescedLoads;
+        return total == 0 ? 0.0 : (double) (hits + coalescedLoads) / total;
+    }
+    
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", coalescedLoads=" + coalescedLoads +
+               ", evictions=" + evictions + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,200 @@
+package com.nexus.enrollment.common.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache with per-entry expiry.
+ *
+ * Entries expire after a fixed time-to-live and the least recently used entry is evicted
+ * once the size limit is reached. Concurrent misses for the same key share a single load,
+ * so a burst of requests for one course results in one call to the owning service.
+ * Only values accepted by the cacheable predicate are stored (e.g. successful responses).
+ */
+public class ExpiringCache<K, V> {
+    private final long ttlNanos;
+    private final Predicate<V> cacheable;
+    private final Map<K, Entry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public ExpiringCache(Duration ttl, int maxEntries, Predicate<V> cacheable) {
+        this.ttlNanos = ttl.toNanos();
+        this.cacheable = cacheable;
+        // Access-ordered so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Return the cached value, loading it on the calling thread if absent or expired
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return join(existing);
+        }
+        
+        misses.incrementAndGet();
+        try {
+            V value = loader.apply(key);
+            complete(key, load, value);
+            return value;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Return the cached value, or start (or join) a non-blocking load if absent or expired
+     */
+    public CompletableFuture<V> getAsync(K key, Function<K, CompletableFuture<V>> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+        
+        misses.incrementAndGet();
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.apply(key);
+        } catch (RuntimeException e) {
+            // Fail the callers that already joined, and let the next one start a new load
+            inFlight.remove(key, load);
+            load.completeExceptionally(e);
+            return load;
+        }
+        loading.whenComplete((value, error) -> {
+            if (error != null) {
+                inFlight.remove(key, load);
+                load.completeExceptionally(error);
+            } else {
+                complete(key, load, value);
+            }
+        });
+        return load;
+    }
+    
+    /**
+     * Return the value if present and not expired, without loading or touching the counters
+     */
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+    
+    /**
+     * Store a value directly, e.g. one obtained from a batch call
+     */
+    public void put(K key, V value) {
+        if (value != null && cacheable.test(value)) {
+            synchronized (entries) {
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+    
+    /**
+     * Drop a single entry; a load already in flight for it will not be stored
+     */
+    public void invalidate(K key) {
+        inFlight.remove(key);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+    
+    public void invalidateAll() {
+        inFlight.clear();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.get(), misses.get(), coalesced.get(), evictions.get(), size);
+    }
+    
+    private void complete(K key, CompletableFuture<V> load, V value) {
+        // Only store the result if nobody invalidated the key while it was loading
+        if (inFlight.remove(key, load)) {
+            put(key, value);
+        }
+        load.complete(value);
+    }
+    
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nexus.enrollment.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The last value successfully loaded for each key, kept to stand in while the owning service
+ * is unavailable.
+ *
+ * Unlike ExpiringCache, entries never expire on a timer: a value is only replaced by a newer
+ * one, removed when the owner reports the key gone, or evicted least recently used once the
+ * size limit is reached. Callers decide when to fall back to it and must tell their own
+ * callers that what they got may be out of date.
+ */
+public class LastKnownGoodCache<K, V> {
+    private final Map<K, V> entries;
+    
+    public LastKnownGoodCache(int maxEntries) {
+        // Access-ordered so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Remember a freshly loaded value
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+    
+    /**
+     * The last value loaded for the key, or null if there never was one
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+    
+    /**
+     * Forget a key the owner no longer has, so it is never served again
+     */
+    public void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.nexus.enrollment.common.enums;
+
+public enum CartCheckoutMode {
+    ALL_OR_NOTHING, PARTIAL
+}
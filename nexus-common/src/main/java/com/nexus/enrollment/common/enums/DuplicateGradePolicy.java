@@ -0,0 +1,8 @@
+package com.nexus.enrollment.common.enums;
+
+/**
+ * What a bulk grade submission does with a student who already has a grade for the course
+ */
+public enum DuplicateGradePolicy {
+    REJECT, UPSERT
+}
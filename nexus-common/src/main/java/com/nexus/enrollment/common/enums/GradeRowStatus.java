@@ -0,0 +1,8 @@
+package com.nexus.enrollment.common.enums;
+
+/**
+ * Outcome of one row of a bulk grade submission
+ */
+public enum GradeRowStatus {
+    CREATED, UPDATED, INVALID, DUPLICATE, NOT_SAVED
+}
@@ -0,0 +1,5 @@
+package com.nexus.enrollment.common.enums;
+
+public enum SeatReservationStatus {
+    RESERVED, FULL, RELEASED, NOT_RESERVED
+}
@@ -0,0 +1,24 @@
+package com.nexus.enrollment.common.exceptions;
+
+import io.javalin.http.Context;
+import com.nexus.enrollment.common.util.ResponseBuilder;
+
+public class DeadlineExceededException extends HttpException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+    
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    @Override
+    public void handleResponse(Context ctx) {
+        ctx.status(getStatusCode()).json(ResponseBuilder.error("Deadline exceeded: " + getMessage()));
+    }
+    
+    @Override
+    public int getStatusCode() {
+        return 504;
+    }
+}
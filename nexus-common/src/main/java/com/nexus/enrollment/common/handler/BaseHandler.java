@@ -13,6 +13,11 @@ public abstract class BaseHandler {
         return new ResponseWrapper("error", message, null);
     }
     
+    // Error that still carries details, e.g. per-item results of a batch request
+    protected Object createErrorResponse(String message, Object data) {
+        return new ResponseWrapper("error", message, data);
+    }
+    
     // Convert ResponseBuilder.Response to our standard format
     protected Object convertResponse(ResponseBuilder.Response response) {
         if (response.isSuccess()) {
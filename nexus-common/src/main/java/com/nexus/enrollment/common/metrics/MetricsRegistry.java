@@ -0,0 +1,181 @@
+package com.nexus.enrollment.common.metrics;
+
+import com.nexus.enrollment.common.cache.CacheStats;
+import com.nexus.enrollment.common.resilience.CircuitBreaker;
+import com.nexus.enrollment.common.resilience.ResilienceMetrics;
+import com.nexus.enrollment.common.resilience.ServiceGuard;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide request metrics: inbound requests per route, outbound ServiceClient calls
+ * per target service, the circuit breaker and bulkhead of each target service and the
+ * counters of registered caches, rendered in the Prometheus text exposition format.
+ *
+ * Routes are keyed by their path pattern ("/students/{id}"), never the concrete path, so the
+ * number of series stays bounded.
+ */
+public class MetricsRegistry {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    
+    private static final Map<String, RequestMetrics> serverRequests = new ConcurrentHashMap<>();
+    private static final Map<String, RequestMetrics> clientRequests = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<CacheStats>> caches = new ConcurrentHashMap<>();
+    
+    /**
+     * Metrics for requests this service handles on one route
+     */
+    public static RequestMetrics forRoute(String method, String route) {
+        return serverRequests.computeIfAbsent(method + " " + route,
+                key -> new RequestMetrics(labels("method", method, "route", route)));
+    }
+    
+    /**
+     * Metrics for calls this service makes to another service
+     */
+    public static RequestMetrics forClient(String serviceName, String method) {
+        return clientRequests.computeIfAbsent(serviceName + " " + method,
+                key -> new RequestMetrics(labels("service", serviceName, "method", method)));
+    }
+    
+    /**
+     * Publish a cache's counters, read on every scrape
+     */
+    public static void registerCache(String cacheName, Supplier<CacheStats> stats) {
+        caches.put(cacheName, stats);
+    }
+    
+    /**
+     * All metrics in Prometheus text format
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder();
+        write(out, "nexus_http_server", "requests handled by this service", "that returned a 5xx status",
+                new TreeMap<>(serverRequests).values());
+        write(out, "nexus_http_client", "calls made to other services", "that failed or returned an error",
+                new TreeMap<>(clientRequests).values());
+        writeResilience(out);
+        writeCaches(out);
+        return out.toString();
+    }
+    
+    private static void writeResilience(StringBuilder out) {
+        Map<String, ResilienceMetrics> guards = ServiceGuard.allMetrics();
+        if (guards.isEmpty()) {
+            return;
+        }
+        
+        // One series per state, set to 1 for the current one
+        header(out, "nexus_circuit_breaker_state", "gauge", "Current circuit breaker state of each target service");
+        guards.forEach((serviceName, metrics) -> {
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                sample(out, "nexus_circuit_breaker_state", labels("service", serviceName, "state", state.name()), null,
+                        metrics.getState() == state ? 1 : 0);
+            }
+        });
+        header(out, "nexus_circuit_breaker_rejected_calls_total", "counter", "Calls rejected because the circuit breaker was open");
+        guards.forEach((serviceName, metrics) -> sample(out, "nexus_circuit_breaker_rejected_calls_total", labels("service", serviceName), null, metrics.getBreakerRejections()));
+        header(out, "nexus_circuit_breaker_opened_total", "counter", "Times the circuit breaker has opened");
+        guards.forEach((serviceName, metrics) -> sample(out, "nexus_circuit_breaker_opened_total", labels("service", serviceName), null, metrics.getTimesOpened()));
+        header(out, "nexus_bulkhead_rejected_calls_total", "counter", "Calls rejected because the bulkhead was full");
+        guards.forEach((serviceName, metrics) -> sample(out, "nexus_bulkhead_rejected_calls_total", labels("service", serviceName), null, metrics.getBulkheadRejections()));
+        header(out, "nexus_bulkhead_active_calls", "gauge", "Calls currently holding a bulkhead slot");
+        guards.forEach((serviceName, metrics) -> sample(out, "nexus_bulkhead_active_calls", labels("service", serviceName), null, metrics.getActiveCalls()));
+        header(out, "nexus_bulkhead_max_concurrent_calls", "gauge", "Bulkhead size");
+        guards.forEach((serviceName, metrics) -> sample(out, "nexus_bulkhead_max_concurrent_calls", labels("service", serviceName), null, metrics.getMaxConcurrentCalls()));
+    }
+    
+    private static void writeCaches(StringBuilder out) {
+        if (caches.isEmpty()) {
+            return;
+        }
+        Map<String, CacheStats> snapshot = new TreeMap<>();
+        caches.forEach((cacheName, stats) -> snapshot.put(cacheName, stats.get()));
+        
+        header(out, "nexus_cache_hits_total", "counter", "Lookups answered from the cache");
+        snapshot.forEach((cacheName, stats) -> sample(out, "nexus_cache_hits_total", labels("cache", cacheName), null, stats.getHits()));
+        header(out, "nexus_cache_misses_total", "counter", "Lookups that loaded the value");
+        snapshot.forEach((cacheName, stats) -> sample(out, "nexus_cache_misses_total", labels("cache", cacheName), null, stats.getMisses()));
+        header(out, "nexus_cache_coalesced_loads_total", "counter", "Lookups that joined a load already in flight");
+        snapshot.forEach((cacheName, stats) -> sample(out, "nexus_cache_coalesced_loads_total", labels("cache", cacheName), null, stats.getCoalescedLoads()));
+        header(out, "nexus_cache_evictions_total", "counter", "Entries evicted to stay within the size limit");
+        snapshot.forEach((cacheName, stats) -> sample(out, "nexus_cache_evictions_total", labels("cache", cacheName), null, stats.getEvictions()));
+        header(out, "nexus_cache_entries", "gauge", "Entries currently held");
+        snapshot.forEach((cacheName, stats) -> sample(out, "nexus_cache_entries", labels("cache", cacheName), null, stats.getSize()));
+    }
+    
+    private static void write(StringBuilder out, String prefix, String what, String failure,
+                              Collection<RequestMetrics> series) {
+        String requests = prefix + "_requests_total";
+        header(out, requests, "counter", "Total " + what);
+        for (RequestMetrics metrics : series) {
+            sample(out, requests, metrics.getLabels(), null, metrics.getRequests());
+        }
+        
+        String errors = prefix + "_request_errors_total";
+        header(out, errors, "counter", "Total " + what + " " + failure);
+        for (RequestMetrics metrics : series) {
+            sample(out, errors, metrics.getLabels(), null, metrics.getErrors());
+        }
+        
+        String inFlight = prefix + "_requests_in_flight";
+        header(out, inFlight, "gauge", "Number of " + what + " currently in progress");
+        for (RequestMetrics metrics : series) {
+            sample(out, inFlight, metrics.getLabels(), null, metrics.getInFlight());
+        }
+        
+        String duration = prefix + "_request_duration_seconds";
+        header(out, duration, "summary", "Latency of " + what);
+        for (RequestMetrics metrics : series) {
+            LatencyHistogram latency = metrics.getLatency();
+            for (double quantile : QUANTILES) {
+                sample(out, duration, metrics.getLabels(), quantile, seconds(latency.percentileMicros(quantile)));
+            }
+            sample(out, duration + "_sum", metrics.getLabels(), null, seconds(latency.getSumMicros()));
+            sample(out, duration + "_count", metrics.getLabels(), null, latency.getCount());
+        }
+    }
+    
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    private static void sample(StringBuilder out, String name, Map<String, String> labels, Double quantile, Object value) {
+        out.append(name).append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+            first = false;
+        }
+        if (quantile != null) {
+            out.append(",quantile=\"").append(quantile).append('"');
+        }
+        out.append("} ").append(value).append('\n');
+    }
+    
+    private static double seconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    private static Map<String, String> labels(String... namesAndValues) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            labels.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return labels;
+    }
+}
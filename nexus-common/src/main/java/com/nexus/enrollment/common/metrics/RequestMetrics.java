@@ -0,0 +1,44 @@
+package com.nexus.enrollment.common.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, in-flight gauge and latency histogram for one kind of request: an inbound route
+ * or outbound calls to one service
+ */
+public class RequestMetrics {
+    private final Map<String, String> labels;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    
+    RequestMetrics(Map<String, String> labels) {
+        this.labels = labels;
+    }
+    
+    /**
+     * Mark a request as started. Returns the start time to hand back to end().
+     */
+    public long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+    
+    public void end(long startedAt, boolean failed) {
+        inFlight.decrementAndGet();
+        requests.increment();
+        if (failed) {
+            errors.increment();
+        }
+        latency.record(System.nanoTime() - startedAt);
+    }
+    
+    public Map<String, String> getLabels() { return labels; }
+    public long getRequests() { return requests.sum(); }
+    public long getErrors() { return errors.sum(); }
+    public long getInFlight() { return inFlight.get(); }
+    public LatencyHistogram getLatency() { return latency; }
+}
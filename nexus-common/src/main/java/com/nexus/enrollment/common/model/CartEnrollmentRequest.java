@@ -0,0 +1,27 @@
+package com.nexus.enrollment.common.model;
+
+import com.nexus.enrollment.common.enums.CartCheckoutMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several courses to enroll in at once. Defaults to ALL_OR_NOTHING.
+ */
+public class CartEnrollmentRequest {
+    private List<Long> courseIds = new ArrayList<>();
+    private CartCheckoutMode mode = CartCheckoutMode.ALL_OR_NOTHING;
+    
+    public CartEnrollmentRequest() {}
+    
+    public CartEnrollmentRequest(List<Long> courseIds, CartCheckoutMode mode) {
+        this.courseIds = courseIds;
+        this.mode = mode;
+    }
+    
+    // Getters and setters
+    public List<Long> getCourseIds() { return courseIds; }
+    public void setCourseIds(List<Long> courseIds) { this.courseIds = courseIds; }
+    
+    public CartCheckoutMode getMode() { return mode; }
+    public void setMode(CartCheckoutMode mode) { this.mode = mode; }
+}
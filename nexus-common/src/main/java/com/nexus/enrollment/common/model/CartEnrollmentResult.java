@@ -0,0 +1,37 @@
+package com.nexus.enrollment.common.model;
+
+import com.nexus.enrollment.common.enums.CartCheckoutMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a multi-course enrollment, with one result per course in the order requested
+ */
+public class CartEnrollmentResult {
+    private boolean success;
+    private String message;
+    private CartCheckoutMode mode;
+    private Map<Long, EnrollmentResult> results = new LinkedHashMap<>();
+    
+    public CartEnrollmentResult() {}
+    
+    public CartEnrollmentResult(boolean success, String message, CartCheckoutMode mode, Map<Long, EnrollmentResult> results) {
+        this.success = success;
+        this.message = message;
+        this.mode = mode;
+        this.results = results;
+    }
+    
+    // Getters and setters
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public CartCheckoutMode getMode() { return mode; }
+    public void setMode(CartCheckoutMode mode) { this.mode = mode; }
+    
+    public Map<Long, EnrollmentResult> getResults() { return results; }
+    public void setResults(Map<Long, EnrollmentResult> results) { this.results = results; }
+}
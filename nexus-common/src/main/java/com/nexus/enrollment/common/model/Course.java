@@ -64,6 +64,37 @@ public class Course implements JsonSerializable {
     public List<Prerequisite> getPrerequisites() { return prerequisites; }
     public void setPrerequisites(List<Prerequisite> prerequisites) { this.prerequisites = prerequisites; }
     
+    /**
+     * Copy of this course that can be changed without affecting the original
+     */
+    public Course copy() {
+        Course copy = new Course();
+        copy.id = id;
+        copy.courseCode = courseCode;
+        copy.name = name;
+        copy.description = description;
+        copy.instructorId = instructorId;
+        copy.department = department;
+        copy.totalCapacity = totalCapacity;
+        copy.availableSeats = availableSeats;
+        if (schedule != null) {
+            copy.schedule = new Schedule(schedule.getDayOfWeek(), schedule.getStartTime(),
+                    schedule.getEndTime(), schedule.getLocation());
+            copy.schedule.setId(schedule.getId());
+        }
+        if (prerequisites != null) {
+            for (Prerequisite prerequisite : prerequisites) {
+                Prerequisite prerequisiteCopy = new Prerequisite(prerequisite.getCourseId(),
+                        prerequisite.getPrerequisiteCourseId(), prerequisite.getMinimumGrade());
+                prerequisiteCopy.setId(prerequisite.getId());
+                copy.prerequisites.add(prerequisiteCopy);
+            }
+        } else {
+            copy.prerequisites = null;
+        }
+        return copy;
+    }
+    
     // Business methods
     public boolean isFull() { 
         return availableSeats <= 0; 
@@ -0,0 +1,44 @@
+package com.nexus.enrollment.common.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a longer list, with where it starts and how long the whole list is
+ */
+public class PagedResult<T> {
+    private List<T> items = new ArrayList<>();
+    private int offset;
+    private int limit;
+    private int total;
+    
+    public PagedResult() {}
+    
+    public PagedResult(List<T> items, int offset, int limit, int total) {
+        this.items = items;
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+    }
+    
+    // Getters and setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public int getOffset() { return offset; }
+    public void setOffset(int offset) { this.offset = offset; }
+    
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public boolean isHasMore() {
+        return offset + items.size() < total;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        // Derived from offset, items and total; accepted so the page can be read back from JSON
+    }
+}
@@ -0,0 +1,50 @@
+package com.nexus.enrollment.common.model;
+
+/**
+ * Seat count of a course as pushed to clients watching seat availability
+ */
+public class SeatAvailabilityUpdate {
+    private Long courseId;
+    private String courseCode;
+    private String department;
+    private int availableSeats;
+    private int totalCapacity;
+    // Change since the previous update sent for this course
+    private int change;
+    private boolean removed;
+    
+    public SeatAvailabilityUpdate() {}
+    
+    public SeatAvailabilityUpdate(Long courseId, String courseCode, String department,
+                                  int availableSeats, int totalCapacity, int change, boolean removed) {
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.department = department;
+        this.availableSeats = availableSeats;
+        this.totalCapacity = totalCapacity;
+        this.change = change;
+        this.removed = removed;
+    }
+    
+    // Getters and setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+    
+    public int getAvailableSeats() { return availableSeats; }
+    public void setAvailableSeats(int availableSeats) { this.availableSeats = availableSeats; }
+    
+    public int getTotalCapacity() { return totalCapacity; }
+    public void setTotalCapacity(int totalCapacity) { this.totalCapacity = totalCapacity; }
+    
+    public int getChange() { return change; }
+    public void setChange(int change) { this.change = change; }
+    
+    public boolean isRemoved() { return removed; }
+    public void setRemoved(boolean removed) { this.removed = removed; }
+}
@@ -0,0 +1,39 @@
+package com.nexus.enrollment.common.model;
+
+import com.nexus.enrollment.common.enums.SeatReservationStatus;
+
+/**
+ * Outcome of taking or giving back a seat in a course, with the seat count right after it
+ */
+public class SeatReservation {
+    private Long courseId;
+    private SeatReservationStatus status;
+    private int availableSeats;
+    private int totalCapacity;
+    
+    public SeatReservation() {}
+    
+    public SeatReservation(Long courseId, SeatReservationStatus status, int availableSeats, int totalCapacity) {
+        this.courseId = courseId;
+        this.status = status;
+        this.availableSeats = availableSeats;
+        this.totalCapacity = totalCapacity;
+    }
+    
+    // Getters and setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public SeatReservationStatus getStatus() { return status; }
+    public void setStatus(SeatReservationStatus status) { this.status = status; }
+    
+    public int getAvailableSeats() { return availableSeats; }
+    public void setAvailableSeats(int availableSeats) { this.availableSeats = availableSeats; }
+    
+    public int getTotalCapacity() { return totalCapacity; }
+    public void setTotalCapacity(int totalCapacity) { this.totalCapacity = totalCapacity; }
+    
+    public boolean isReserved() {
+        return status == SeatReservationStatus.RESERVED;
+    }
+}
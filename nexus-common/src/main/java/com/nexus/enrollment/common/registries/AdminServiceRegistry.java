@@ -1,8 +1,13 @@
 package com.nexus.enrollment.common.registries;
 
 import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.model.Faculty;
+import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.service.ServiceClient;
 import com.nexus.enrollment.common.service.ServiceResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service registry for Admin Service operations
@@ -10,6 +15,8 @@ import com.nexus.enrollment.common.service.ServiceResponse;
  */
 public class AdminServiceRegistry {
     private static final ServiceClient serviceClient = new ServiceClient();
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Faculty>> FACULTY_LIST = new TypeReference<>() {};
     
     /**
      * Get enrollment report
@@ -52,6 +59,7 @@ public class AdminServiceRegistry {
      * Update course (admin privilege)
      */
     public static ServiceResponse<Course> updateCourse(Long courseId, Course course) {
+        CourseServiceRegistry.invalidateCourse(courseId);
         return serviceClient.put("admin", "/admin/courses/" + courseId, course, Course.class);
     }
     
@@ -59,6 +67,7 @@ public class AdminServiceRegistry {
      * Delete course (admin privilege)
      */
     public static ServiceResponse<String> deleteCourse(Long courseId) {
+        CourseServiceRegistry.invalidateCourse(courseId);
         return serviceClient.delete("admin", "/admin/courses/" + courseId, String.class);
     }
     
@@ -82,4 +91,110 @@ public class AdminServiceRegistry {
     public static ServiceResponse<String> getAllFaculty() {
         return serviceClient.get("admin", "/admin/faculty", String.class);
     }
+    
+    // Typed variants - decoded once into model objects, no string re-parsing by callers
+    
+    /**
+     * Get all students (admin view) as model objects
+     */
+    public static ServiceResponse<List<Student>> listAllStudents() {
+        return serviceClient.get("admin", "/admin/students", STUDENT_LIST);
+    }
+    
+    /**
+     * Get all faculty (admin view) as model objects
+     */
+    public static ServiceResponse<List<Faculty>> listAllFaculty() {
+        return serviceClient.get("admin", "/admin/faculty", FACULTY_LIST);
+    }
+    
+    // Non-blocking variants - compose these instead of chaining blocking calls
+    
+    /**
+     * Get enrollment report without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getEnrollmentReportAsync(String department, String semester) {
+        String endpoint = "/admin/reports/enrollment";
+        if (department != null || semester != null) {
+            endpoint += "?";
+            if (department != null) endpoint += "department=" + department;
+            if (semester != null) {
+                if (department != null) endpoint += "&";
+                endpoint += "semester=" + semester;
+            }
+        }
+        return serviceClient.getAsync("admin", endpoint, String.class);
+    }
+    
+    /**
+     * Get faculty workload report without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getFacultyWorkloadReportAsync() {
+        return serviceClient.getAsync("admin", "/admin/reports/faculty-workload", String.class);
+    }
+    
+    /**
+     * Get course popularity trends report without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getCourseTrendsReportAsync() {
+        return serviceClient.getAsync("admin", "/admin/reports/course-trends", String.class);
+    }
+    
+    /**
+     * Create new course (admin privilege) without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Course>> createCourseAsync(Course course) {
+        return serviceClient.postAsync("admin", "/admin/courses", course, Course.class);
+    }
+    
+    /**
+     * Update course (admin privilege) without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Course>> updateCourseAsync(Long courseId, Course course) {
+        CourseServiceRegistry.invalidateCourse(courseId);
+        return serviceClient.putAsync("admin", "/admin/courses/" + courseId, course, Course.class);
+    }
+    
+    /**
+     * Delete course (admin privilege) without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> deleteCourseAsync(Long courseId) {
+        CourseServiceRegistry.invalidateCourse(courseId);
+        return serviceClient.deleteAsync("admin", "/admin/courses/" + courseId, String.class);
+    }
+    
+    /**
+     * Force enroll student (admin privilege) without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> forceEnrollStudentAsync(Long studentId, Long courseId) {
+        return serviceClient.postAsync("admin", "/admin/students/" + studentId + "/force-enroll/" + courseId, null, String.class);
+    }
+    
+    /**
+     * Get all students (admin view) without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getAllStudentsAsync() {
+        return serviceClient.getAsync("admin", "/admin/students", String.class);
+    }
+    
+    /**
+     * Get all faculty (admin view) without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getAllFacultyAsync() {
+        return serviceClient.getAsync("admin", "/admin/faculty", String.class);
+    }
+    
+    /**
+     * Get all students (admin view) as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Student>>> listAllStudentsAsync() {
+        return serviceClient.getAsync("admin", "/admin/students", STUDENT_LIST);
+    }
+    
+    /**
+     * Get all faculty (admin view) as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Faculty>>> listAllFacultyAsync() {
+        return serviceClient.getAsync("admin", "/admin/faculty", FACULTY_LIST);
+    }
 }
@@ -1,8 +1,25 @@
 package com.nexus.enrollment.common.registries;
 
+import com.nexus.enrollment.common.cache.CacheStats;
+import com.nexus.enrollment.common.cache.ExpiringCache;
+import com.nexus.enrollment.common.metrics.MetricsRegistry;
 import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.model.Prerequisite;
+import com.nexus.enrollment.common.model.SeatReservation;
 import com.nexus.enrollment.common.service.ServiceClient;
 import com.nexus.enrollment.common.service.ServiceResponse;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service registry for Course Service operations
@@ -10,14 +27,82 @@ import com.nexus.enrollment.common.service.ServiceResponse;
  */
 public class CourseServiceRegistry {
     private static final ServiceClient serviceClient = new ServiceClient();
+    private static final TypeReference<List<Course>> COURSE_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Prerequisite>> PREREQUISITE_LIST = new TypeReference<>() {};
+    private static final TypeReference<Map<Long, Course>> COURSE_MAP = new TypeReference<>() {};
+    
+    // Catalog view of courses (name, schedule, prerequisites). Entries are stored without their
+    // seat count, which would be up to one TTL old, and every caller gets its own copy.
+    private static final ExpiringCache<Long, ServiceResponse<Course>> courseCache = new ExpiringCache<>(
+            Duration.ofSeconds(EnvironmentConfig.getLong("COURSE_CACHE_TTL_SECONDS", 30)),
+            EnvironmentConfig.getInt("COURSE_CACHE_MAX_ENTRIES", 1000),
+            response -> response.isSuccess() && response.getData() != null);
+    
+    static {
+        MetricsRegistry.registerCache("course", courseCache::stats);
+    }
     
     /**
-     * Get course by ID
+     * Get course by ID from the local catalog cache when possible. The course comes without
+     * its seat count (availableSeats is always 0); use getLiveCourse to show seats, and
+     * reserveSeat/releaseSeat to take or give one back.
      */
     public static ServiceResponse<Course> getCourse(Long courseId) {
+        return copyOf(courseCache.get(courseId,
+                id -> catalogEntry(serviceClient.get("course", "/courses/" + id, Course.class))));
+    }
+    
+    /**
+     * Get course by ID straight from Course Service, bypassing the cache.
+     * Use this whenever the course is going to be modified; to take or give back a seat,
+     * use reserveSeat/releaseSeat, which are atomic on the Course Service side.
+     */
+    public static ServiceResponse<Course> getLiveCourse(Long courseId) {
+        // The caller is about to act on seat counts, so anything we hold is about to be stale
+        courseCache.invalidate(courseId);
         return serviceClient.get("course", "/courses/" + courseId, Course.class);
     }
     
+    /**
+     * Get several courses in a single round trip, keyed by course ID.
+     * Ids that do not exist are absent from the returned map.
+     * Courses already in the catalog cache are not requested again, so like getCourse the
+     * courses come without their seat counts.
+     */
+    public static ServiceResponse<Map<Long, Course>> getCourses(Collection<Long> courseIds) {
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        collectCached(courseIds, courses, missing);
+        if (missing.isEmpty()) {
+            return ServiceResponse.success(courses);
+        }
+        
+        ServiceResponse<Map<Long, Course>> response = serviceClient.post("course", "/courses/batch", missing, COURSE_MAP);
+        return mergeFetched(courseIds, courses, response);
+    }
+    
+    /**
+     * Get several courses straight from Course Service in a single round trip, keyed by
+     * course ID, with their current seat counts. The catalog cache is refreshed on the way.
+     */
+    public static ServiceResponse<Map<Long, Course>> getLiveCourses(Collection<Long> courseIds) {
+        return remember(serviceClient.post("course", "/courses/batch", distinct(courseIds), COURSE_MAP));
+    }
+    
+    /**
+     * Drop a course from the catalog cache, e.g. after it was updated or deleted
+     */
+    public static void invalidateCourse(Long courseId) {
+        courseCache.invalidate(courseId);
+    }
+    
+    /**
+     * Hit/miss counters for the course catalog cache
+     */
+    public static CacheStats getCourseCacheStats() {
+        return courseCache.stats();
+    }
+    
     /**
      * Get all courses
      */
@@ -29,7 +114,7 @@ public class CourseServiceRegistry {
      * Get courses by department
      */
     public static ServiceResponse<String> getCoursesByDepartment(String department) {
-        return serviceClient.get("course", "/courses/department/" + department, String.class);
+        return serviceClient.get("course", "/courses/department/" + encode(department), String.class);
     }
     
     /**
@@ -43,7 +128,7 @@ public class CourseServiceRegistry {
      * Search courses by keyword
      */
     public static ServiceResponse<String> searchCourses(String keyword) {
-        return serviceClient.get("course", "/courses/search?keyword=" + keyword, String.class);
+        return serviceClient.get("course", "/courses/search?keyword=" + encode(keyword), String.class);
     }
     
     /**
@@ -74,6 +159,21 @@ public class CourseServiceRegistry {
         return serviceClient.post("course", "/courses", course, Course.class);
     }
     
+    /**
+     * Atomically take one seat in a course. The result says whether a seat was reserved
+     * or the course is full; no separate read of the seat count is needed.
+     */
+    public static ServiceResponse<SeatReservation> reserveSeat(Long courseId) {
+        return serviceClient.post("course", "/courses/" + courseId + "/seats/reserve", null, SeatReservation.class);
+    }
+    
+    /**
+     * Atomically give back one seat in a course
+     */
+    public static ServiceResponse<SeatReservation> releaseSeat(Long courseId) {
+        return serviceClient.post("course", "/courses/" + courseId + "/seats/release", null, SeatReservation.class);
+    }
+    
     /**
      * Check if course exists
      */
@@ -87,4 +187,312 @@ public class CourseServiceRegistry {
             return ServiceResponse.error(response.getMessage());
         }
     }
+    
+    // Typed variants - decoded once into model objects, no string re-parsing by callers
+    
+    /**
+     * Get all courses as model objects
+     */
+    public static ServiceResponse<List<Course>> listAllCourses() {
+        return serviceClient.get("course", "/courses", COURSE_LIST);
+    }
+    
+    /**
+     * Get courses by department as model objects
+     */
+    public static ServiceResponse<List<Course>> listCoursesByDepartment(String department) {
+        return serviceClient.get("course", "/courses/department/" + encode(department), COURSE_LIST);
+    }
+    
+    /**
+     * Get courses by instructor/faculty ID as model objects
+     */
+    public static ServiceResponse<List<Course>> listCoursesByInstructor(Long facultyId) {
+        return serviceClient.get("course", "/courses/instructor/" + facultyId, COURSE_LIST);
+    }
+    
+    /**
+     * Search courses by keyword, returning model objects
+     */
+    public static ServiceResponse<List<Course>> listCoursesMatching(String keyword) {
+        return serviceClient.get("course", "/courses/search?keyword=" + encode(keyword), COURSE_LIST);
+    }
+    
+    /**
+     * Get available courses as model objects
+     */
+    public static ServiceResponse<List<Course>> listAvailableCourses() {
+        return serviceClient.get("course", "/courses/available", COURSE_LIST);
+    }
+    
+    /**
+     * Get course prerequisites as model objects
+     */
+    public static ServiceResponse<List<Prerequisite>> listCoursePrerequisites(Long courseId) {
+        return serviceClient.get("course", "/courses/" + courseId + "/prerequisites", PREREQUISITE_LIST);
+    }
+    
+    /**
+     * Get number of students enrolled in a course
+     */
+    public static ServiceResponse<Integer> getCourseEnrollmentCount(Long courseId) {
+        return serviceClient.get("course", "/courses/" + courseId + "/enrollments", Integer.class);
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+    
+    // Non-blocking variants - compose these instead of chaining blocking calls
+    
+    /**
+     * Get course by ID from the catalog cache without blocking the caller; see getCourse
+     */
+    public static CompletableFuture<ServiceResponse<Course>> getCourseAsync(Long courseId) {
+        return courseCache.getAsync(courseId,
+                id -> serviceClient.getAsync("course", "/courses/" + id, Course.class)
+                        .thenApply(CourseServiceRegistry::catalogEntry))
+                .thenApply(CourseServiceRegistry::copyOf);
+    }
+    
+    /**
+     * Get course by ID straight from Course Service without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Course>> getLiveCourseAsync(Long courseId) {
+        courseCache.invalidate(courseId);
+        return serviceClient.getAsync("course", "/courses/" + courseId, Course.class);
+    }
+    
+    /**
+     * Get several courses in a single round trip without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Map<Long, Course>>> getCoursesAsync(Collection<Long> courseIds) {
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        collectCached(courseIds, courses, missing);
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(ServiceResponse.success(courses));
+        }
+        
+        return serviceClient.postAsync("course", "/courses/batch", missing, COURSE_MAP)
+                .thenApply(response -> mergeFetched(courseIds, courses, response));
+    }
+    
+    /**
+     * Get several courses with their current seat counts without blocking the caller; see getLiveCourses
+     */
+    public static CompletableFuture<ServiceResponse<Map<Long, Course>>> getLiveCoursesAsync(Collection<Long> courseIds) {
+        return serviceClient.postAsync("course", "/courses/batch", distinct(courseIds), COURSE_MAP)
+                .thenApply(CourseServiceRegistry::remember);
+    }
+    
+    /**
+     * Get all courses without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getAllCoursesAsync() {
+        return serviceClient.getAsync("course", "/courses", String.class);
+    }
+    
+    /**
+     * Get courses by department without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getCoursesByDepartmentAsync(String department) {
+        return serviceClient.getAsync("course", "/courses/department/" + encode(department), String.class);
+    }
+    
+    /**
+     * Get courses by instructor/faculty ID without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getCoursesByInstructorAsync(Long facultyId) {
+        return serviceClient.getAsync("course", "/courses/instructor/" + facultyId, String.class);
+    }
+    
+    /**
+     * Search courses by keyword without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> searchCoursesAsync(String keyword) {
+        return serviceClient.getAsync("course", "/courses/search?keyword=" + encode(keyword), String.class);
+    }
+    
+    /**
+     * Get available courses without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getAvailableCoursesAsync() {
+        return serviceClient.getAsync("course", "/courses/available", String.class);
+    }
+    
+    /**
+     * Get course prerequisites without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getCoursePrerequisitesAsync(Long courseId) {
+        return serviceClient.getAsync("course", "/courses/" + courseId + "/prerequisites", String.class);
+    }
+    
+    /**
+     * Get course enrollments count without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getCourseEnrollmentsAsync(Long courseId) {
+        return serviceClient.getAsync("course", "/courses/" + courseId + "/enrollments", String.class);
+    }
+    
+    /**
+     * Atomically take one seat in a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<SeatReservation>> reserveSeatAsync(Long courseId) {
+        return serviceClient.postAsync("course", "/courses/" + courseId + "/seats/reserve", null, SeatReservation.class);
+    }
+    
+    /**
+     * Atomically give back one seat in a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<SeatReservation>> releaseSeatAsync(Long courseId) {
+        return serviceClient.postAsync("course", "/courses/" + courseId + "/seats/release", null, SeatReservation.class);
+    }
+    
+    /**
+     * Create a new course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Course>> createCourseAsync(Course course) {
+        return serviceClient.postAsync("course", "/courses", course, Course.class);
+    }
+    
+    /**
+     * Check if course exists without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Boolean>> courseExistsAsync(Long courseId) {
+        return getCourseAsync(courseId).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ServiceResponse.success(true);
+            } else if (response.getMessage().contains("not found") || response.getMessage().contains("404")) {
+                return ServiceResponse.success(false);
+            } else {
+                return ServiceResponse.error(response.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Get all courses as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Course>>> listAllCoursesAsync() {
+        return serviceClient.getAsync("course", "/courses", COURSE_LIST);
+    }
+    
+    /**
+     * Get courses by department as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Course>>> listCoursesByDepartmentAsync(String department) {
+        return serviceClient.getAsync("course", "/courses/department/" + encode(department), COURSE_LIST);
+    }
+    
+    /**
+     * Get courses by instructor/faculty ID as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Course>>> listCoursesByInstructorAsync(Long facultyId) {
+        return serviceClient.getAsync("course", "/courses/instructor/" + facultyId, COURSE_LIST);
+    }
+    
+    /**
+     * Search courses by keyword, returning model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Course>>> listCoursesMatchingAsync(String keyword) {
+        return serviceClient.getAsync("course", "/courses/search?keyword=" + encode(keyword), COURSE_LIST);
+    }
+    
+    /**
+     * Get available courses as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Course>>> listAvailableCoursesAsync() {
+        return serviceClient.getAsync("course", "/courses/available", COURSE_LIST);
+    }
+    
+    /**
+     * Get course prerequisites as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Prerequisite>>> listCoursePrerequisitesAsync(Long courseId) {
+        return serviceClient.getAsync("course", "/courses/" + courseId + "/prerequisites", PREREQUISITE_LIST);
+    }
+    
+    /**
+     * Get number of students enrolled in a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Integer>> getCourseEnrollmentCountAsync(Long courseId) {
+        return serviceClient.getAsync("course", "/courses/" + courseId + "/enrollments", Integer.class);
+    }
+    
+    private static void collectCached(Collection<Long> courseIds, Map<Long, Course> cached, List<Long> missing) {
+        for (Long courseId : courseIds) {
+            if (cached.containsKey(courseId) || missing.contains(courseId)) {
+                continue;
+            }
+            ServiceResponse<Course> hit = courseCache.getIfPresent(courseId);
+            if (hit != null) {
+                cached.put(courseId, hit.getData().copy());
+            } else {
+                missing.add(courseId);
+            }
+        }
+    }
+    
+    private static ServiceResponse<Map<Long, Course>> mergeFetched(Collection<Long> courseIds, Map<Long, Course> cached,
+                                                                   ServiceResponse<Map<Long, Course>> response) {
+        if (!response.isSuccess()) {
+            return response;
+        }
+        Map<Long, Course> fetched = new LinkedHashMap<>();
+        if (response.getData() != null) {
+            response.getData().forEach((id, course) -> {
+                Course catalogView = catalogView(course);
+                courseCache.put(id, ServiceResponse.success(catalogView));
+                fetched.put(id, catalogView.copy());
+            });
+        }
+        
+        // Rebuild in request order so callers see the same ordering as a plain batch call
+        Map<Long, Course> courses = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            Course course = cached.containsKey(courseId) ? cached.get(courseId) : fetched.get(courseId);
+            if (course != null) {
+                courses.put(courseId, course);
+            }
+        }
+        return ServiceResponse.success(response.getMessage(), courses);
+    }
+    
+    private static ServiceResponse<Map<Long, Course>> remember(ServiceResponse<Map<Long, Course>> response) {
+        if (response.isSuccess() && response.getData() != null) {
+            response.getData().forEach((id, course) -> courseCache.put(id, ServiceResponse.success(catalogView(course))));
+        }
+        return response;
+    }
+    
+    private static List<Long> distinct(Collection<Long> courseIds) {
+        return new ArrayList<>(new LinkedHashSet<>(courseIds));
+    }
+    
+    /**
+     * What the catalog cache stores for a response: the course without its seat count
+     */
+    private static ServiceResponse<Course> catalogEntry(ServiceResponse<Course> response) {
+        if (!response.isSuccess() || response.getData() == null) {
+            return response;
+        }
+        return ServiceResponse.success(response.getMessage(), catalogView(response.getData()));
+    }
+    
+    private static Course catalogView(Course course) {
+        Course catalogView = course.copy();
+        catalogView.setAvailableSeats(0);
+        return catalogView;
+    }
+    
+    /**
+     * Cached courses are shared, so callers get a copy of their own
+     */
+    private static ServiceResponse<Course> copyOf(ServiceResponse<Course> response) {
+        if (!response.isSuccess() || response.getData() == null) {
+            return response;
+        }
+        return ServiceResponse.success(response.getMessage(), response.getData().copy());
+    }
 }
@@ -1,8 +1,14 @@
 package com.nexus.enrollment.common.registries;
 
+import com.nexus.enrollment.common.model.Course;
 import com.nexus.enrollment.common.model.Faculty;
+import com.nexus.enrollment.common.model.Grade;
+import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.service.ServiceClient;
 import com.nexus.enrollment.common.service.ServiceResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service registry for Faculty Service operations
@@ -10,6 +16,9 @@ import com.nexus.enrollment.common.service.ServiceResponse;
  */
 public class FacultyServiceRegistry {
     private static final ServiceClient serviceClient = new ServiceClient();
+    private static final TypeReference<List<Course>> COURSE_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Grade>> GRADE_LIST = new TypeReference<>() {};
     
     /**
      * Get faculty by ID
@@ -101,4 +110,170 @@ public class FacultyServiceRegistry {
             return ServiceResponse.error(response.getMessage());
         }
     }
+    
+    // Typed variants - decoded once into model objects, no string re-parsing by callers
+    
+    /**
+     * Get faculty's assigned courses as model objects
+     */
+    public static ServiceResponse<List<Course>> listFacultyCourses(Long facultyId) {
+        return serviceClient.get("faculty", "/faculty/" + facultyId + "/courses", COURSE_LIST);
+    }
+    
+    /**
+     * Get class roster for a course as model objects
+     */
+    public static ServiceResponse<List<Student>> listClassRoster(Long facultyId, Long courseId) {
+        return serviceClient.get("faculty", "/faculty/" + facultyId + "/roster/" + courseId, STUDENT_LIST);
+    }
+    
+    /**
+     * Get submitted grades for a course as model objects
+     */
+    public static ServiceResponse<List<Grade>> listSubmittedGrades(Long facultyId, Long courseId) {
+        return serviceClient.get("faculty", "/faculty/" + facultyId + "/grades/" + courseId, GRADE_LIST);
+    }
+    
+    /**
+     * Get pending grades for approval as model objects
+     */
+    public static ServiceResponse<List<Grade>> listPendingGrades(Long facultyId) {
+        return serviceClient.get("faculty", "/faculty/" + facultyId + "/grades/pending", GRADE_LIST);
+    }
+    
+    /**
+     * Get pending grades for a specific course as model objects
+     */
+    public static ServiceResponse<List<Grade>> listPendingGradesForCourse(Long facultyId, Long courseId) {
+        return serviceClient.get("faculty", "/faculty/" + facultyId + "/grades/pending?courseId=" + courseId, GRADE_LIST);
+    }
+    
+    // Non-blocking variants - compose these instead of chaining blocking calls
+    
+    /**
+     * Get faculty by ID without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Faculty>> getFacultyAsync(Long facultyId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId, Faculty.class);
+    }
+    
+    /**
+     * Get faculty's assigned courses without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getFacultyCoursesAsync(Long facultyId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/courses", String.class);
+    }
+    
+    /**
+     * Get class roster for a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getClassRosterAsync(Long facultyId, Long courseId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/roster/" + courseId, String.class);
+    }
+    
+    /**
+     * Submit grades for a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> submitGradesAsync(Long facultyId, Object grades) {
+        return serviceClient.postAsync("faculty", "/faculty/" + facultyId + "/grades", grades, String.class);
+    }
+    
+    /**
+     * Get submitted grades for a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getSubmittedGradesAsync(Long facultyId, Long courseId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/grades/" + courseId, String.class);
+    }
+    
+    /**
+     * Submit course change request without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> submitCourseRequestAsync(Long facultyId, Object request) {
+        return serviceClient.putAsync("faculty", "/faculty/" + facultyId + "/course-request", request, String.class);
+    }
+    
+    /**
+     * Assign course to faculty without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> assignCourseAsync(Long facultyId, Long courseId) {
+        return serviceClient.postAsync("faculty", "/faculty/" + facultyId + "/courses/" + courseId, null, String.class);
+    }
+    
+    /**
+     * Get pending grades for approval without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getPendingGradesAsync(Long facultyId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/grades/pending", String.class);
+    }
+    
+    /**
+     * Get pending grades for a specific course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getPendingGradesForCourseAsync(Long facultyId, Long courseId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/grades/pending?courseId=" + courseId, String.class);
+    }
+    
+    /**
+     * Approve a pending grade without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> approveGradeAsync(Long facultyId, Long gradeId) {
+        return serviceClient.postAsync("faculty", "/faculty/" + facultyId + "/grades/" + gradeId + "/approve", null, String.class);
+    }
+    
+    /**
+     * Reject a pending grade with reason without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> rejectGradeAsync(Long facultyId, Long gradeId, String reason) {
+        return serviceClient.postAsync("faculty", "/faculty/" + facultyId + "/grades/" + gradeId + "/reject", reason, String.class);
+    }
+    
+    /**
+     * Check if faculty exists without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Boolean>> facultyExistsAsync(Long facultyId) {
+        return getFacultyAsync(facultyId).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ServiceResponse.success(true);
+            } else if (response.getMessage().contains("not found") || response.getMessage().contains("404")) {
+                return ServiceResponse.success(false);
+            } else {
+                return ServiceResponse.error(response.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Get faculty's assigned courses as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Course>>> listFacultyCoursesAsync(Long facultyId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/courses", COURSE_LIST);
+    }
+    
+    /**
+     * Get class roster for a course as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Student>>> listClassRosterAsync(Long facultyId, Long courseId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/roster/" + courseId, STUDENT_LIST);
+    }
+    
+    /**
+     * Get submitted grades for a course as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Grade>>> listSubmittedGradesAsync(Long facultyId, Long courseId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/grades/" + courseId, GRADE_LIST);
+    }
+    
+    /**
+     * Get pending grades for approval as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Grade>>> listPendingGradesAsync(Long facultyId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/grades/pending", GRADE_LIST);
+    }
+    
+    /**
+     * Get pending grades for a specific course as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Grade>>> listPendingGradesForCourseAsync(Long facultyId, Long courseId) {
+        return serviceClient.getAsync("faculty", "/faculty/" + facultyId + "/grades/pending?courseId=" + courseId, GRADE_LIST);
+    }
 }
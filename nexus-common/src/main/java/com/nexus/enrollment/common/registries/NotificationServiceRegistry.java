@@ -1,7 +1,11 @@
 package com.nexus.enrollment.common.registries;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nexus.enrollment.common.model.Notification;
 import com.nexus.enrollment.common.service.ServiceClient;
 import com.nexus.enrollment.common.service.ServiceResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service registry for Notification Service operations
@@ -9,6 +13,7 @@ import com.nexus.enrollment.common.service.ServiceResponse;
  */
 public class NotificationServiceRegistry {
     private static final ServiceClient serviceClient = new ServiceClient();
+    private static final TypeReference<List<Notification>> NOTIFICATION_LIST = new TypeReference<>() {};
     
     /**
      * Send notification
@@ -17,6 +22,13 @@ public class NotificationServiceRegistry {
         return serviceClient.post("notification", "/notifications", notification, String.class);
     }
     
+    /**
+     * Send several notifications in one round trip
+     */
+    public static ServiceResponse<List<Notification>> sendNotifications(List<Notification> notifications) {
+        return serviceClient.post("notification", "/notifications/batch", notifications, NOTIFICATION_LIST);
+    }
+    
     /**
      * Get user notifications
      */
@@ -69,6 +81,94 @@ public class NotificationServiceRegistry {
         return sendNotification(request);
     }
     
+    // Typed variants - decoded once into model objects, no string re-parsing by callers
+    
+    /**
+     * Get user notifications as model objects
+     */
+    public static ServiceResponse<List<Notification>> listUserNotifications(Long userId) {
+        return serviceClient.get("notification", "/notifications/user/" + userId, NOTIFICATION_LIST);
+    }
+    
+    /**
+     * Get notifications by type as model objects
+     */
+    public static ServiceResponse<List<Notification>> listNotificationsByType(String type) {
+        return serviceClient.get("notification", "/notifications/type/" + type, NOTIFICATION_LIST);
+    }
+    
+    // Non-blocking variants - fire these off instead of waiting on the notification service
+    
+    /**
+     * Send notification without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> sendNotificationAsync(Object notification) {
+        return serviceClient.postAsync("notification", "/notifications", notification, String.class);
+    }
+    
+    /**
+     * Get user notifications without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getUserNotificationsAsync(Long userId) {
+        return serviceClient.getAsync("notification", "/notifications/user/" + userId, String.class);
+    }
+    
+    /**
+     * Get notifications by type without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getNotificationsByTypeAsync(String type) {
+        return serviceClient.getAsync("notification", "/notifications/type/" + type, String.class);
+    }
+    
+    /**
+     * Mark notification as read without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> markAsReadAsync(Long notificationId) {
+        return serviceClient.putAsync("notification", "/notifications/" + notificationId + "/read", null, String.class);
+    }
+    
+    /**
+     * Subscribe to notification type without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> subscribeToNotificationTypeAsync(Object subscription) {
+        return serviceClient.postAsync("notification", "/notifications/subscribe", subscription, String.class);
+    }
+    
+    /**
+     * Send enrollment confirmation notification without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> sendEnrollmentConfirmationAsync(Long studentId, Long courseId) {
+        return sendNotificationAsync(new EnrollmentNotificationRequest(studentId, courseId, "ENROLLMENT_CONFIRMATION"));
+    }
+    
+    /**
+     * Send course drop notification without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> sendDropConfirmationAsync(Long studentId, Long courseId) {
+        return sendNotificationAsync(new EnrollmentNotificationRequest(studentId, courseId, "DROP_CONFIRMATION"));
+    }
+    
+    /**
+     * Send waitlist notification without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> sendWaitlistNotificationAsync(Long studentId, Long courseId) {
+        return sendNotificationAsync(new EnrollmentNotificationRequest(studentId, courseId, "WAITLIST_NOTIFICATION"));
+    }
+    
+    /**
+     * Get user notifications as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Notification>>> listUserNotificationsAsync(Long userId) {
+        return serviceClient.getAsync("notification", "/notifications/user/" + userId, NOTIFICATION_LIST);
+    }
+    
+    /**
+     * Get notifications by type as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Notification>>> listNotificationsByTypeAsync(String type) {
+        return serviceClient.getAsync("notification", "/notifications/type/" + type, NOTIFICATION_LIST);
+    }
+    
     // Inner class for enrollment notification requests
     public static class EnrollmentNotificationRequest {
         private final Long studentId;
@@ -1,8 +1,13 @@
 package com.nexus.enrollment.common.registries;
 
+import com.nexus.enrollment.common.model.Enrollment;
+import com.nexus.enrollment.common.model.PagedResult;
 import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.service.ServiceClient;
 import com.nexus.enrollment.common.service.ServiceResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service registry for Student Service operations
@@ -10,6 +15,9 @@ import com.nexus.enrollment.common.service.ServiceResponse;
  */
 public class StudentServiceRegistry {
     private static final ServiceClient serviceClient = new ServiceClient();
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Enrollment>> ENROLLMENT_LIST = new TypeReference<>() {};
+    private static final TypeReference<PagedResult<Student>> STUDENT_PAGE = new TypeReference<>() {};
     
     /**
      * Get student by ID
@@ -73,4 +81,118 @@ public class StudentServiceRegistry {
             return ServiceResponse.error(response.getMessage());
         }
     }
+    
+    // Typed variants - decoded once into model objects, no string re-parsing by callers
+    
+    /**
+     * Get all students as model objects
+     */
+    public static ServiceResponse<List<Student>> listAllStudents() {
+        return serviceClient.get("student", "/students", STUDENT_LIST);
+    }
+    
+    /**
+     * Get student enrollments as model objects
+     */
+    public static ServiceResponse<List<Enrollment>> listStudentEnrollments(Long studentId) {
+        return serviceClient.get("student", "/students/" + studentId + "/enrollments", ENROLLMENT_LIST);
+    }
+    
+    /**
+     * Get a page of the students enrolled in a course, in id order
+     */
+    public static ServiceResponse<PagedResult<Student>> getStudentsByCourse(Long courseId, int offset, int limit) {
+        return serviceClient.get("student", studentsByCoursePath(courseId, offset, limit), STUDENT_PAGE);
+    }
+    
+    private static String studentsByCoursePath(Long courseId, int offset, int limit) {
+        return "/students/by-course/" + courseId + "?offset=" + offset + "&limit=" + limit;
+    }
+    
+    // Non-blocking variants - compose these instead of chaining blocking calls
+    
+    /**
+     * Get student by ID without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Student>> getStudentAsync(Long studentId) {
+        return serviceClient.getAsync("student", "/students/" + studentId, Student.class);
+    }
+    
+    /**
+     * Get all students without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getAllStudentsAsync() {
+        return serviceClient.getAsync("student", "/students", String.class);
+    }
+    
+    /**
+     * Create a new student without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Student>> createStudentAsync(Student student) {
+        return serviceClient.postAsync("student", "/students", student, Student.class);
+    }
+    
+    /**
+     * Get student's schedule without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getStudentScheduleAsync(Long studentId) {
+        return serviceClient.getAsync("student", "/students/" + studentId + "/schedule", String.class);
+    }
+    
+    /**
+     * Get student enrollments without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> getStudentEnrollmentsAsync(Long studentId) {
+        return serviceClient.getAsync("student", "/students/" + studentId + "/enrollments", String.class);
+    }
+    
+    /**
+     * Enroll student in a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> enrollStudentAsync(Long studentId, Long courseId) {
+        return serviceClient.postAsync("student", "/students/" + studentId + "/enroll/" + courseId, null, String.class);
+    }
+    
+    /**
+     * Drop student from a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<String>> dropCourseAsync(Long studentId, Long courseId) {
+        return serviceClient.deleteAsync("student", "/students/" + studentId + "/drop/" + courseId, String.class);
+    }
+    
+    /**
+     * Check if student exists without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<Boolean>> studentExistsAsync(Long studentId) {
+        return getStudentAsync(studentId).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ServiceResponse.success(true);
+            } else if (response.getMessage().contains("not found") || response.getMessage().contains("404")) {
+                return ServiceResponse.success(false);
+            } else {
+                return ServiceResponse.error(response.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Get all students as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Student>>> listAllStudentsAsync() {
+        return serviceClient.getAsync("student", "/students", STUDENT_LIST);
+    }
+    
+    /**
+     * Get a page of the students enrolled in a course without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<PagedResult<Student>>> getStudentsByCourseAsync(Long courseId, int offset, int limit) {
+        return serviceClient.getAsync("student", studentsByCoursePath(courseId, offset, limit), STUDENT_PAGE);
+    }
+    
+    /**
+     * Get student enrollments as model objects without blocking the caller
+     */
+    public static CompletableFuture<ServiceResponse<List<Enrollment>>> listStudentEnrollmentsAsync(Long studentId) {
+        return serviceClient.getAsync("student", "/students/" + studentId + "/enrollments", ENROLLMENT_LIST);
+    }
 }
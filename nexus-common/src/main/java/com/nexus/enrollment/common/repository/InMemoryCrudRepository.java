@@ -0,0 +1,162 @@
+package com.nexus.enrollment.common.repository;
+
+import com.nexus.enrollment.common.model.PagedResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Thread-safe in-memory CrudRepository keyed by Long ids.
+ *
+ * Entities live in a ConcurrentHashMap and new ids come from an atomic sequence, so handlers
+ * on different threads can save and read concurrently. Subclasses declare secondary indexes
+ * in their constructor with index(...) and answer their finders with findAllBy/findFirstBy,
+ * which cost O(matches) instead of a scan over every entity. Indexes are brought up to date
+ * on every save and deleteById.
+ */
+public abstract class InMemoryCrudRepository<T> implements CrudRepository<T, Long> {
+    private final Map<Long, T> entities = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final List<SecondaryIndex<T, ?>> indexes = new CopyOnWriteArrayList<>();
+    
+    protected abstract Long getId(T entity);
+    
+    protected abstract void setId(T entity, Long id);
+    
+    /**
+     * Declare an index with one key per entity, e.g. index(Student::getEmail)
+     */
+    protected <K> SecondaryIndex<T, K> index(Function<T, K> keyOf) {
+        return indexAll(entity -> Collections.singletonList(keyOf.apply(entity)));
+    }
+    
+    /**
+     * Declare an index with any number of keys per entity, e.g. the courses a student is enrolled in
+     */
+    protected <K> SecondaryIndex<T, K> indexAll(Function<T, ? extends Collection<K>> keysOf) {
+        SecondaryIndex<T, K> index = new SecondaryIndex<>(keysOf);
+        indexes.add(index);
+        return index;
+    }
+    
+    @Override
+    public T save(T entity) {
+        Long id = getId(entity);
+        if (id == null) {
+            id = nextId.getAndIncrement();
+            setId(entity, id);
+        } else {
+            // Explicitly assigned ids must never be handed out again
+            long assigned = id;
+            nextId.accumulateAndGet(assigned + 1, Math::max);
+        }
+        T previous = entities.put(id, entity);
+        for (SecondaryIndex<T, ?> index : indexes) {
+            index.update(id, entity);
+        }
+        afterSave(previous, entity);
+        return entity;
+    }
+    
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(entities.get(id));
+    }
+    
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(entities.values());
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        T removed = entities.remove(id);
+        for (SecondaryIndex<T, ?> index : indexes) {
+            index.remove(id);
+        }
+        if (removed != null) {
+            afterDelete(id, removed);
+        }
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return entities.containsKey(id);
+    }
+    
+    /**
+     * Entities indexed under the key
+     */
+    protected <K> List<T> findAllBy(SecondaryIndex<T, K> index, K key) {
+        return resolve(index.ids(key));
+    }
+    
+    /**
+     * A page of the entities indexed under the key, in id order so that consecutive pages
+     * neither repeat nor skip entities unless the key's entities change in between
+     */
+    protected <K> PagedResult<T> findPageBy(SecondaryIndex<T, K> index, K key, int offset, int limit) {
+        SortedSet<Long> ids = index.ids(key);
+        List<Long> page = new ArrayList<>(Math.min(limit, 1024));
+        long end = (long) offset + limit;
+        long position = 0;
+        for (Long id : ids) {
+            if (position >= end) {
+                break;
+            }
+            if (position++ >= offset) {
+                page.add(id);
+            }
+        }
+        return new PagedResult<>(resolve(page), offset, limit, ids.size());
+    }
+    
+    /**
+     * Any one entity indexed under the key, for keys that are meant to be unique
+     */
+    protected <K> Optional<T> findFirstBy(SecondaryIndex<T, K> index, K key) {
+        for (Long id : index.ids(key)) {
+            T entity = entities.get(id);
+            if (entity != null) {
+                return Optional.of(entity);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Entities for a set of ids, skipping any deleted in the meantime
+     */
+    protected List<T> resolve(Collection<Long> ids) {
+        List<T> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = entities.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Called after an entity and all indexes have been saved, for state kept outside them
+     * @param previous the entity this save replaced, or null if the id was new
+     */
+    protected void afterSave(T previous, T entity) {
+    }
+    
+    /**
+     * Called after an entity has been deleted
+     */
+    protected void afterDelete(Long id, T entity) {
+    }
+}
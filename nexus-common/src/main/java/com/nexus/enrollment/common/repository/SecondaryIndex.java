@@ -0,0 +1,85 @@
+package com.nexus.enrollment.common.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Ids of the entities that have a given key, e.g. students by email or grades by course.
+ *
+ * An entity may have any number of keys (a student is enrolled in several courses). The keys
+ * an entity was last indexed under are remembered, so an entity that was changed in place
+ * before being saved again is moved out of its old buckets correctly. Each bucket keeps its
+ * ids in ascending order, so paging through a key needs no sort. Lookups never block;
+ * updates for the same index are serialized.
+ */
+public class SecondaryIndex<T, K> {
+    private final Function<T, ? extends Collection<K>> keysOf;
+    private final Map<K, SortedSet<Long>> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, Set<K>> keysById = new ConcurrentHashMap<>();
+    
+    SecondaryIndex(Function<T, ? extends Collection<K>> keysOf) {
+        this.keysOf = keysOf;
+    }
+    
+    /**
+     * Ids of the entities indexed under the key, in ascending order
+     */
+    public SortedSet<Long> ids(K key) {
+        if (key == null) {
+            return Collections.emptySortedSet();
+        }
+        SortedSet<Long> ids = idsByKey.get(key);
+        return ids == null ? Collections.emptySortedSet() : Collections.unmodifiableSortedSet(ids);
+    }
+    
+    synchronized void update(Long id, T entity) {
+        Set<K> keys = new HashSet<>();
+        for (K key : keysOf.apply(entity)) {
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        Set<K> previous = keysById.getOrDefault(id, Collections.emptySet());
+        for (K key : previous) {
+            if (!keys.contains(key)) {
+                removeFromBucket(key, id);
+            }
+        }
+        for (K key : keys) {
+            if (!previous.contains(key)) {
+                idsByKey.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+            }
+        }
+        if (keys.isEmpty()) {
+            keysById.remove(id);
+        } else {
+            keysById.put(id, keys);
+        }
+    }
+    
+    synchronized void remove(Long id) {
+        Set<K> previous = keysById.remove(id);
+        if (previous != null) {
+            for (K key : previous) {
+                removeFromBucket(key, id);
+            }
+        }
+    }
+    
+    private void removeFromBucket(K key, Long id) {
+        SortedSet<Long> ids = idsByKey.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByKey.remove(key);
+            }
+        }
+    }
+}
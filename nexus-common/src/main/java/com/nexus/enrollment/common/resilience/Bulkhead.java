@@ -0,0 +1,36 @@
+package com.nexus.enrollment.common.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of concurrent calls to one downstream service.
+ * Calls over the limit are rejected immediately rather than queued, so a slow dependency
+ * cannot tie up every request thread of the calling service.
+ */
+public class Bulkhead {
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    
+    public Bulkhead(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+    
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+    public int getActiveCalls() { return maxConcurrentCalls - permits.availablePermits(); }
+    public long getRejectedCalls() { return rejectedCalls.get(); }
+}
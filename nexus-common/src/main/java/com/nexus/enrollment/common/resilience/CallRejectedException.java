@@ -0,0 +1,20 @@
+package com.nexus.enrollment.common.resilience;
+
+/**
+ * Thrown when a call is refused locally without reaching the downstream service
+ */
+public class CallRejectedException extends RuntimeException {
+    public static final String CIRCUIT_OPEN = "CIRCUIT_OPEN";
+    public static final String BULKHEAD_FULL = "BULKHEAD_FULL";
+    
+    private final String errorCode;
+    
+    public CallRejectedException(String errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+    
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,169 @@
+package com.nexus.enrollment.common.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED: calls flow and the outcome of the last N calls is kept in a ring buffer. Once at
+ * least the minimum number of calls has been recorded and either the failure rate or the
+ * slow-call rate reaches its threshold, the breaker opens.
+ * OPEN: calls are rejected immediately until the open period has elapsed.
+ * HALF_OPEN: a few trial calls are let through; if all succeed quickly the breaker closes,
+ * otherwise it opens again.
+ */
+public class CircuitBreaker {
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private final ResilienceConfig config;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int recordedCalls;
+    private int nextSlot;
+    private int failureCount;
+    private int slowCount;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    
+    private final AtomicLong successfulCalls = new AtomicLong();
+    private final AtomicLong failedCallsTotal = new AtomicLong();
+    private final AtomicLong slowCallsTotal = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final AtomicLong timesOpened = new AtomicLong();
+    
+    public CircuitBreaker(ResilienceConfig config) {
+        this.config = config;
+        this.failedCalls = new boolean[config.getSlidingWindowSize()];
+        this.slowCalls = new boolean[config.getSlidingWindowSize()];
+    }
+    
+    /**
+     * Ask for permission to make a call. Every granted permission must be followed by onResult
+     * or releasePermission.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < config.getOpenStateMillis()) {
+                rejectedCalls.incrementAndGet();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= config.getHalfOpenCalls()) {
+                rejectedCalls.incrementAndGet();
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+    
+    /**
+     * Give back a permission whose call was abandoned for reasons unrelated to the service's
+     * health (e.g. the caller's deadline ran out), without recording an outcome
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+    
+    /**
+     * Record the outcome of a permitted call
+     */
+    public synchronized void onResult(long durationMillis, boolean failed) {
+        boolean slow = durationMillis >= config.getSlowCallMillis();
+        if (failed) {
+            failedCallsTotal.incrementAndGet();
+        } else {
+            successfulCalls.incrementAndGet();
+        }
+        if (slow) {
+            slowCallsTotal.incrementAndGet();
+        }
+        
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= config.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Late result of a call made before the breaker opened
+            return;
+        }
+        
+        record(failed, slow);
+        if (recordedCalls >= config.getMinimumCalls()
+                && (failureCount * 100 >= config.getFailureRateThreshold() * recordedCalls
+                    || slowCount * 100 >= config.getSlowCallRateThreshold() * recordedCalls)) {
+            transitionTo(State.OPEN);
+        }
+    }
+    
+    public synchronized State getState() {
+        // Report an expired open period as half-open even before the next call arrives
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= config.getOpenStateMillis()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+    
+    public synchronized double getFailureRate() {
+        return recordedCalls == 0 ? 0.0 : (double) failureCount / recordedCalls;
+    }
+    
+    public synchronized double getSlowCallRate() {
+        return recordedCalls == 0 ? 0.0 : (double) slowCount / recordedCalls;
+    }
+    
+    public long getSuccessfulCalls() { return successfulCalls.get(); }
+    public long getFailedCalls() { return failedCallsTotal.get(); }
+    public long getSlowCalls() { return slowCallsTotal.get(); }
+    public long getRejectedCalls() { return rejectedCalls.get(); }
+    public long getTimesOpened() { return timesOpened.get(); }
+    
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            // Window is full - the slot we are about to reuse drops out of the counts
+            if (failedCalls[nextSlot]) failureCount--;
+            if (slowCalls[nextSlot]) slowCount--;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextSlot] = failed;
+        slowCalls[nextSlot] = slow;
+        if (failed) failureCount++;
+        if (slow) slowCount++;
+        nextSlot = (nextSlot + 1) % failedCalls.length;
+    }
+    
+    private void transitionTo(State newState) {
+        if (state == newState) {
+            return;
+        }
+        System.out.println("Circuit breaker for " + config.getServiceName() + " service: " + state + " -> " + newState);
+        state = newState;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+            timesOpened.incrementAndGet();
+        } else if (newState == State.CLOSED) {
+            recordedCalls = 0;
+            nextSlot = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.nexus.enrollment.common.resilience;
+
+import java.time.Duration;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import java.util.Locale;
+
+/**
+ * Timeouts, bulkhead size and circuit breaker thresholds for calls to one downstream service.
+ *
+ * Every setting is read from system properties or the environment, first as a per-service variable using the same
+ * prefix as the service URL (e.g. NOTIFICATION_SERVICE_TIMEOUT_MS) and then as a global
+ * default without the service name (e.g. SERVICE_TIMEOUT_MS). Timeouts can additionally be
+ * set per HTTP method, e.g. NOTIFICATION_SERVICE_POST_TIMEOUT_MS.
+ */
+public class ResilienceConfig {
+    private final String serviceName;
+    private final long timeoutMillis;
+    private final long getTimeoutMillis;
+    private final long postTimeoutMillis;
+    private final long putTimeoutMillis;
+    private final long deleteTimeoutMillis;
+    private final int maxConcurrentCalls;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallMillis;
+    private final long openStateMillis;
+    private final int halfOpenCalls;
+    private final int ejectAfterFailures;
+    private final long ejectionMillis;
+    
+    private ResilienceConfig(String serviceName) {
+        this.serviceName = serviceName;
+        this.timeoutMillis = read("TIMEOUT_MS", 10_000);
+        this.getTimeoutMillis = read("GET_TIMEOUT_MS", timeoutMillis);
+        this.postTimeoutMillis = read("POST_TIMEOUT_MS", timeoutMillis);
+        this.putTimeoutMillis = read("PUT_TIMEOUT_MS", timeoutMillis);
+        this.deleteTimeoutMillis = read("DELETE_TIMEOUT_MS", timeoutMillis);
+        this.maxConcurrentCalls = (int) read("MAX_CONCURRENT_CALLS", 64);
+        this.slidingWindowSize = (int) Math.max(1, read("BREAKER_WINDOW_SIZE", 20));
+        this.minimumCalls = (int) Math.min(slidingWindowSize, read("BREAKER_MINIMUM_CALLS", 10));
+        this.failureRateThreshold = (int) read("BREAKER_FAILURE_RATE", 50);
+        this.slowCallRateThreshold = (int) read("BREAKER_SLOW_CALL_RATE", 80);
+        this.slowCallMillis = read("BREAKER_SLOW_CALL_MS", 2_000);
+        this.openStateMillis = read("BREAKER_OPEN_MS", 10_000);
+        this.halfOpenCalls = (int) Math.max(1, read("BREAKER_HALF_OPEN_CALLS", 3));
+        this.ejectAfterFailures = (int) Math.max(1, read("EJECT_AFTER_FAILURES", 3));
+        this.ejectionMillis = read("EJECT_MS", 30_000);
+    }
+    
+    /**
+     * Load the configuration for a service from the environment
+     */
+    public static ResilienceConfig forService(String serviceName) {
+        return new ResilienceConfig(serviceName);
+    }
+    
+    /**
+     * Request timeout for the given HTTP method
+     */
+    public Duration timeoutFor(String method) {
+        switch (method) {
+            case "GET": return Duration.ofMillis(getTimeoutMillis);
+            case "POST": return Duration.ofMillis(postTimeoutMillis);
+            case "PUT": return Duration.ofMillis(putTimeoutMillis);
+            case "DELETE": return Duration.ofMillis(deleteTimeoutMillis);
+            default: return Duration.ofMillis(timeoutMillis);
+        }
+    }
+    
+    public String getServiceName() { return serviceName; }
+    public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+    public int getSlidingWindowSize() { return slidingWindowSize; }
+    public int getMinimumCalls() { return minimumCalls; }
+    public int getFailureRateThreshold() { return failureRateThreshold; }
+    public int getSlowCallRateThreshold() { return slowCallRateThreshold; }
+    public long getSlowCallMillis() { return slowCallMillis; }
+    public long getOpenStateMillis() { return openStateMillis; }
+    public int getHalfOpenCalls() { return halfOpenCalls; }
+    public int getEjectAfterFailures() { return ejectAfterFailures; }
+    public long getEjectionMillis() { return ejectionMillis; }
+    
+    private long read(String setting, long defaultValue) {
+        String perService = serviceName.toUpperCase(Locale.ROOT) + "_SERVICE_" + setting;
+        return EnvironmentConfig.getLong(perService, EnvironmentConfig.getLong("SERVICE_" + setting, defaultValue));
+    }
+}
@@ -0,0 +1,49 @@
+package com.nexus.enrollment.common.resilience;
+
+/**
+ * Point-in-time snapshot of the breaker and bulkhead for one downstream service
+ */
+public class ResilienceMetrics {
+    private final String serviceName;
+    private final CircuitBreaker.State state;
+    private final double failureRate;
+    private final double slowCallRate;
+    private final long successfulCalls;
+    private final long failedCalls;
+    private final long slowCalls;
+    private final long breakerRejections;
+    private final long timesOpened;
+    private final int activeCalls;
+    private final int maxConcurrentCalls;
+    private final long bulkheadRejections;
+    
+    public ResilienceMetrics(String serviceName, CircuitBreaker.State state, double failureRate, double slowCallRate,
+                             long successfulCalls, long failedCalls, long slowCalls, long breakerRejections,
+                             long timesOpened, int activeCalls, int maxConcurrentCalls, long bulkheadRejections) {
+        this.serviceName = serviceName;
+        this.state = state;
+        this.failureRate = failureRate;
+        this.slowCallRate = slowCallRate;
+        this.successfulCalls = successfulCalls;
+        this.failedCalls = failedCalls;
+        this.slowCalls = slowCalls;
+        this.breakerRejections = breakerRejections;
+        this.timesOpened = timesOpened;
+        this.activeCalls = activeCalls;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkheadRejections = bulkheadRejections;
+    }
+    
+    public String getServiceName() { return serviceName; }
+    public CircuitBreaker.State getState() { return state; }
+    public double getFailureRate() { return failureRate; }
+    public double getSlowCallRate() { return slowCallRate; }
+    public long getSuccessfulCalls() { return successfulCalls; }
+    public long getFailedCalls() { return failedCalls; }
+    public long getSlowCalls() { return slowCalls; }
+    public long getBreakerRejections() { return breakerRejections; }
+    public long getTimesOpened() { return timesOpened; }
+    public int getActiveCalls() { return activeCalls; }
+    public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+    public long getBulkheadRejections() { return bulkheadRejections; }
+}
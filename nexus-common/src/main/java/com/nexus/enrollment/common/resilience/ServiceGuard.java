@@ -0,0 +1,115 @@
+package com.nexus.enrollment.common.resilience;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker, bulkhead and timeouts for one downstream service.
+ *
+ * Guards are shared process-wide and keyed by the service name used in ServiceClient
+ * ("student", "course", ...), so every client instance in a JVM sees the same breaker state.
+ */
+public class ServiceGuard {
+    private static final Map<String, ServiceGuard> guards = new ConcurrentHashMap<>();
+    
+    private final ResilienceConfig config;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    
+    private ServiceGuard(ResilienceConfig config) {
+        this.config = config;
+        this.circuitBreaker = new CircuitBreaker(config);
+        this.bulkhead = new Bulkhead(config.getMaxConcurrentCalls());
+    }
+    
+    public static ServiceGuard forService(String serviceName) {
+        return guards.computeIfAbsent(serviceName, name -> new ServiceGuard(ResilienceConfig.forService(name)));
+    }
+    
+    /**
+     * Metrics for every service that has been called so far, ordered by service name
+     */
+    public static Map<String, ResilienceMetrics> allMetrics() {
+        Map<String, ResilienceMetrics> metrics = new TreeMap<>();
+        guards.forEach((name, guard) -> metrics.put(name, guard.metrics()));
+        return metrics;
+    }
+    
+    /**
+     * Reserve a slot for one call. Rejects immediately if the bulkhead is full or the breaker is open.
+     */
+    public Permit acquire() {
+        if (!bulkhead.tryAcquire()) {
+            throw new CallRejectedException(CallRejectedException.BULKHEAD_FULL,
+                    "Too many concurrent calls to " + config.getServiceName() + " service");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            throw new CallRejectedException(CallRejectedException.CIRCUIT_OPEN,
+                    "Circuit breaker for " + config.getServiceName() + " service is open");
+        }
+        return new Permit();
+    }
+    
+    /**
+     * Current breaker state, reported as HALF_OPEN once the open period has elapsed
+     */
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+    
+    public ResilienceConfig getConfig() {
+        return config;
+    }
+    
+    public ResilienceMetrics metrics() {
+        return new ResilienceMetrics(config.getServiceName(), circuitBreaker.getState(),
+                circuitBreaker.getFailureRate(), circuitBreaker.getSlowCallRate(),
+                circuitBreaker.getSuccessfulCalls(), circuitBreaker.getFailedCalls(), circuitBreaker.getSlowCalls(),
+                circuitBreaker.getRejectedCalls(), circuitBreaker.getTimesOpened(),
+                bulkhead.getActiveCalls(), bulkhead.getMaxConcurrentCalls(), bulkhead.getRejectedCalls());
+    }
+    
+    /**
+     * A granted call slot. Exactly one of the completion methods takes effect; later calls are ignored.
+     */
+    public class Permit {
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        
+        /**
+         * The service answered. Server errors count as failures; client errors do not,
+         * since they say nothing about the health of the service.
+         */
+        public void onResponse(int statusCode) {
+            complete(statusCode >= 500);
+        }
+        
+        /**
+         * The call failed before a response arrived (connection refused, timeout, ...)
+         */
+        public void onError() {
+            complete(true);
+        }
+        
+        /**
+         * The call was abandoned because the caller ran out of time. Says nothing about the
+         * service, so the slot is released without recording a result.
+         */
+        public void onCancelled() {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                circuitBreaker.releasePermission();
+            }
+        }
+        
+        private void complete(boolean failed) {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                circuitBreaker.onResult((System.nanoTime() - startedAt) / 1_000_000, failed);
+            }
+        }
+    }
+}
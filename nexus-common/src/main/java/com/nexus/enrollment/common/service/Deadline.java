@@ -0,0 +1,81 @@
+package com.nexus.enrollment.common.service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The point in time by which the current request must be answered.
+ *
+ * WebServer binds a deadline to the handling thread when a request arrives with the
+ * X-Request-Timeout-Ms header. ServiceClient shortens the timeout of every outbound call to
+ * what is left of it and forwards the remaining budget in the same header, so each hop
+ * only spends the time its caller still has. Calls made after the deadline has passed are
+ * refused without being sent.
+ *
+ * The header carries a remaining duration rather than a wall-clock time, so hosts do not
+ * need synchronized clocks.
+ */
+public final class Deadline {
+    public static final String HEADER = "X-Request-Timeout-Ms";
+    public static final String ERROR_CODE = "DEADLINE_EXCEEDED";
+    
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    
+    private final long expiresAtNanos;
+    
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+    
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+    
+    /**
+     * The deadline bound to this thread, or null if the current work has none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+    
+    public static void set(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+    
+    public static void clear() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Run work on another thread under the given deadline, restoring that thread's own afterwards
+     */
+    public static <T> T callWith(Deadline deadline, Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        set(deadline);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+    
+    public long remainingMillis() {
+        return Math.max(0, (expiresAtNanos - System.nanoTime()) / 1_000_000);
+    }
+    
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+    
+    /**
+     * The given timeout, shortened to the time left before this deadline
+     */
+    public Duration cap(Duration timeout) {
+        long remainingNanos = Math.max(1, expiresAtNanos - System.nanoTime());
+        return timeout.toNanos() <= remainingNanos ? timeout : Duration.ofNanos(remainingNanos);
+    }
+}
@@ -0,0 +1,262 @@
+package com.nexus.enrollment.common.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.enrollment.common.resilience.CallRejectedException;
+import com.nexus.enrollment.common.resilience.ServiceGuard;
+import com.nexus.enrollment.common.web.ExecutionMode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport that calls other services over HTTP, with load balancing across instances,
+ * circuit breaking and bulkheading per service
+ */
+class HttpTransport implements ServiceTransport {
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ResponseDecoder responseDecoder;
+    private final Map<String, String> serviceBaseUrls;
+    
+    HttpTransport(ObjectMapper objectMapper, Map<String, String> serviceBaseUrls) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(ExecutionMode.newExecutor("ServiceClient"))
+                .build();
+        this.objectMapper = objectMapper;
+        this.responseDecoder = new ResponseDecoder(objectMapper);
+        this.serviceBaseUrls = serviceBaseUrls;
+    }
+    
+    @Override
+    public <T> ServiceResponse<T> send(String serviceName, String endpoint, String method,
+                                       Object requestBody, JavaType responseType) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            return deadlineExceeded(serviceName);
+        }
+        ServiceGuard guard = ServiceGuard.forService(serviceName);
+        ServiceInstance instance;
+        HttpRequest request;
+        InFlightCall call;
+        try {
+            instance = instancePool(serviceName, guard).choose();
+            request = buildRequest(instance, endpoint, method, requestBody, guard, deadline);
+            call = new InFlightCall(guard.acquire(), instance);
+        } catch (CallRejectedException e) {
+            return ServiceResponse.error(e.getMessage(), e.getErrorCode());
+        } catch (Exception e) {
+            return communicationError(serviceName, e);
+        }
+        
+        try {
+            return executeRequest(request, responseType, call);
+        } catch (Exception e) {
+            return callFailed(serviceName, e, call, deadline);
+        }
+    }
+    
+    @Override
+    public <T> CompletableFuture<ServiceResponse<T>> sendAsync(String serviceName, String endpoint, String method,
+                                                               Object requestBody, JavaType responseType) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            return CompletableFuture.completedFuture(deadlineExceeded(serviceName));
+        }
+        ServiceGuard guard = ServiceGuard.forService(serviceName);
+        ServiceInstance instance;
+        HttpRequest request;
+        InFlightCall call;
+        try {
+            instance = instancePool(serviceName, guard).choose();
+            request = buildRequest(instance, endpoint, method, requestBody, guard, deadline);
+            call = new InFlightCall(guard.acquire(), instance);
+        } catch (CallRejectedException e) {
+            return CompletableFuture.completedFuture(ServiceResponse.error(e.getMessage(), e.getErrorCode()));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(communicationError(serviceName, e));
+        }
+        
+        try {
+            // Buffer as bytes so decoding never blocks the client's completion thread on a stream read
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> {
+                        call.onResponse(response.statusCode());
+                        try (JsonParser parser = objectMapper.createParser(response.body())) {
+                            return this.<T>handleResponse(response.statusCode(), response.body(), parser, responseType);
+                        } catch (IOException e) {
+                            return ServiceResponse.<T>error("Failed to parse response from service: " + e.getMessage());
+                        }
+                    })
+                    .exceptionally(e -> callFailed(serviceName,
+                            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e, call, deadline));
+        } catch (Exception e) {
+            call.onError();
+            return CompletableFuture.completedFuture(communicationError(serviceName, e));
+        }
+    }
+    
+    private InstancePool instancePool(String serviceName, ServiceGuard guard) {
+        String baseUrls = serviceBaseUrls.get(serviceName);
+        if (baseUrls == null) {
+            throw new IllegalArgumentException("Unknown service: " + serviceName);
+        }
+        return InstancePool.forService(serviceName, baseUrls, guard.getConfig());
+    }
+    
+    private HttpRequest buildRequest(ServiceInstance instance, String endpoint, String method, Object requestBody,
+                                     ServiceGuard guard, Deadline deadline) throws JsonProcessingException {
+        HttpRequest.BodyPublisher bodyPublisher = requestBody != null || "POST".equals(method) || "PUT".equals(method)
+                ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody))
+                : HttpRequest.BodyPublishers.noBody();
+        
+        Duration timeout = guard.getConfig().timeoutFor(method);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(buildUrl(instance, endpoint)))
+                .header("Content-Type", "application/json")
+                .method(method, bodyPublisher);
+        if (deadline != null) {
+            // Never wait longer than our caller will, and pass the remaining budget on
+            timeout = deadline.cap(timeout);
+            builder.header(Deadline.HEADER, String.valueOf(Math.max(1, deadline.remainingMillis())));
+        }
+        return builder.timeout(timeout).build();
+    }
+    
+    /**
+     * A call that ended without a response. A timeout caused by our own deadline running out
+     * is not held against the downstream service. Unless the connection could not even be
+     * opened, the request may have been acted on, so the error is marked NO_RESPONSE.
+     */
+    private <T> ServiceResponse<T> callFailed(String serviceName, Throwable e, InFlightCall call, Deadline deadline) {
+        boolean neverSent = e instanceof ConnectException || e instanceof HttpConnectTimeoutException;
+        if (e instanceof HttpTimeoutException && deadline != null && deadline.isExpired()) {
+            call.onCancelled();
+            return ServiceResponse.error("Request deadline exceeded before " + serviceName + " service responded",
+                    neverSent ? Deadline.ERROR_CODE : ServiceResponse.NO_RESPONSE);
+        }
+        call.onError();
+        return ServiceResponse.error("Failed to communicate with " + serviceName + " service: " + e.getMessage(),
+                neverSent ? null : ServiceResponse.NO_RESPONSE);
+    }
+    
+    private <T> ServiceResponse<T> deadlineExceeded(String serviceName) {
+        return ServiceResponse.error("Request deadline exceeded before " + serviceName + " service responded",
+                Deadline.ERROR_CODE);
+    }
+    
+    private <T> ServiceResponse<T> communicationError(String serviceName, Throwable e) {
+        return ServiceResponse.error("Failed to communicate with " + serviceName + " service: " + e.getMessage());
+    }
+    
+    private String buildUrl(ServiceInstance instance, String endpoint) {
+        // Ensure proper URL formatting
+        if (!endpoint.startsWith("/")) {
+            endpoint = "/" + endpoint;
+        }
+        
+        return instance.getBaseUrl() + endpoint;
+    }
+    
+    private <T> ServiceResponse<T> executeRequest(HttpRequest request, JavaType responseType,
+                                                  InFlightCall call) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        call.onResponse(response.statusCode());
+        
+        try (InputStream body = response.body()) {
+            if (isSuccessStatus(response.statusCode()) && !isRawType(responseType)) {
+                // Decode straight off the wire - the body is never copied into a String
+                try (JsonParser parser = objectMapper.createParser(body)) {
+                    return handleResponse(response.statusCode(), null, parser, responseType);
+                }
+            }
+            return handleResponse(response.statusCode(), body.readAllBytes(), null, responseType);
+        }
+    }
+    
+    /**
+     * Turn a response into a ServiceResponse. Successful typed responses are decoded from the
+     * parser; raw String/Void responses and error responses use the buffered body bytes.
+     */
+    private <T> ServiceResponse<T> handleResponse(int statusCode, byte[] body, JsonParser parser, JavaType responseType) throws IOException {
+        if (!isSuccessStatus(statusCode)) {
+            return responseDecoder.decodeError(statusCode, body);
+        }
+        
+        Class<?> rawType = responseType.getRawClass();
+        if (rawType == Void.class) {
+            return ServiceResponse.success(null);
+        }
+        if (rawType == String.class) {
+            @SuppressWarnings("unchecked")
+            T result = (T) (body != null ? new String(body, StandardCharsets.UTF_8) : null);
+            return ServiceResponse.success(result);
+        }
+        
+        try {
+            return responseDecoder.decode(parser, responseType);
+        } catch (JsonProcessingException e) {
+            return ServiceResponse.error("Failed to parse response from service: " + e.getOriginalMessage());
+        }
+    }
+    
+    private boolean isSuccessStatus(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+    
+    private boolean isRawType(JavaType responseType) {
+        return responseType.getRawClass() == String.class || responseType.getRawClass() == Void.class;
+    }
+    
+    /**
+     * Ties together the breaker/bulkhead permit and the chosen instance for one call,
+     * so both are released exactly once however the call ends.
+     */
+    private static final class InFlightCall {
+        private final ServiceGuard.Permit permit;
+        private final ServiceInstance instance;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        
+        InFlightCall(ServiceGuard.Permit permit, ServiceInstance instance) {
+            this.permit = permit;
+            this.instance = instance;
+            instance.begin();
+        }
+        
+        void onResponse(int statusCode) {
+            if (completed.compareAndSet(false, true)) {
+                permit.onResponse(statusCode);
+                instance.end(statusCode >= 500);
+            }
+        }
+        
+        void onError() {
+            if (completed.compareAndSet(false, true)) {
+                permit.onError();
+                instance.end(true);
+            }
+        }
+        
+        void onCancelled() {
+            if (completed.compareAndSet(false, true)) {
+                permit.onCancelled();
+                instance.end(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.nexus.enrollment.common.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.nexus.enrollment.common.exceptions.HttpException;
+import com.nexus.enrollment.common.web.ExecutionMode;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Transport for services running in the same JVM (monolith mode).
+ *
+ * Services register their routes with a LocalHandler that calls the service object directly.
+ * ServiceClient dispatches any request matching a registered route here instead of over HTTP,
+ * so there is no socket, no text JSON and no envelope to decode. Requests for routes that
+ * have not been registered still go over HTTP.
+ *
+ * Values crossing the boundary are copied through a token buffer rather than shared, so a
+ * caller mutating a returned Course cannot corrupt the owning service's repository - the same
+ * isolation HTTP gives, without formatting or parsing any text.
+ */
+public class InProcessTransport implements ServiceTransport {
+    private static final InProcessTransport INSTANCE = new InProcessTransport();
+    
+    private final ObjectMapper objectMapper = ServiceClient.createObjectMapper();
+    private final Map<String, List<Route>> routes = new ConcurrentHashMap<>();
+    private final Executor executor = ExecutionMode.newExecutor("InProcessTransport");
+    
+    private InProcessTransport() {
+    }
+    
+    public static InProcessTransport getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Register a route, e.g. route("course", "GET", "/courses/{id}", handler).
+     * As with Javalin, routes are matched in registration order, so register specific
+     * paths before parameterized ones.
+     */
+    public InProcessTransport route(String serviceName, String method, String pathPattern, LocalHandler handler) {
+        routes.computeIfAbsent(serviceName, name -> new CopyOnWriteArrayList<>())
+                .add(new Route(method, pathPattern, handler));
+        return this;
+    }
+    
+    /**
+     * Whether a request can be served in-process
+     */
+    public boolean handles(String serviceName, String method, String endpoint) {
+        List<Route> serviceRoutes = routes.get(serviceName);
+        if (serviceRoutes == null) {
+            return false;
+        }
+        String path = stripQuery(endpoint);
+        for (Route route : serviceRoutes) {
+            if (route.match(method, path) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public <T> ServiceResponse<T> send(String serviceName, String endpoint, String method,
+                                       Object requestBody, JavaType responseType) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            return ServiceResponse.error("Request deadline exceeded before calling " + serviceName + " service",
+                    Deadline.ERROR_CODE);
+        }
+        List<Route> serviceRoutes = routes.getOrDefault(serviceName, Collections.emptyList());
+        String path = stripQuery(endpoint);
+        for (Route route : serviceRoutes) {
+            Map<String, String> pathParams = route.match(method, path);
+            if (pathParams != null) {
+                LocalRequest request = new LocalRequest(pathParams, parseQuery(endpoint), requestBody, this);
+                return invoke(route, request, responseType);
+            }
+        }
+        return ServiceResponse.error("No in-process route for " + method + " " + endpoint + " on " + serviceName + " service");
+    }
+    
+    @Override
+    public <T> CompletableFuture<ServiceResponse<T>> sendAsync(String serviceName, String endpoint, String method,
+                                                               Object requestBody, JavaType responseType) {
+        // Keep the non-blocking contract: the caller's thread must not run the other service's work.
+        // The work still runs under the caller's deadline, as it would on the remote end of an HTTP call.
+        Deadline deadline = Deadline.current();
+        return CompletableFuture.supplyAsync(() ->
+                Deadline.callWith(deadline, () -> send(serviceName, endpoint, method, requestBody, responseType)), executor);
+    }
+    
+    JavaType constructType(Class<?> type) {
+        return objectMapper.constructType(type);
+    }
+    
+    /**
+     * Deep-copy a value into the requested type without going through text
+     */
+    <T> T copy(Object value, JavaType type) {
+        if (value == null) {
+            return null;
+        }
+        if (isImmutable(value) && type.getRawClass().isInstance(value)) {
+            @SuppressWarnings("unchecked")
+            T same = (T) value;
+            return same;
+        }
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, value);
+            return objectMapper.readValue(buffer.asParser(), type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot convert " + value.getClass().getSimpleName() + " to " + type, e);
+        }
+    }
+    
+    private <T> ServiceResponse<T> invoke(Route route, LocalRequest request, JavaType responseType) {
+        try {
+            Object result = route.handler.handle(request);
+            Class<?> rawType = responseType.getRawClass();
+            if (rawType == Void.class || result == null) {
+                return ServiceResponse.success(null);
+            }
+            if (rawType == String.class && !(result instanceof String)) {
+                // Callers of the raw-string API expect the JSON text of the data
+                @SuppressWarnings("unchecked")
+                T json = (T) objectMapper.writeValueAsString(result);
+                return ServiceResponse.success(json);
+            }
+            return ServiceResponse.success(copy(result, responseType));
+        } catch (Exception e) {
+            // Same shape as an HTTP error response: the exception message becomes the error message
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            boolean notFound = e instanceof HttpException && ((HttpException) e).getStatusCode() == 404;
+            return ServiceResponse.error(message, notFound ? ServiceResponse.NOT_FOUND : null);
+        }
+    }
+    
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Enum;
+    }
+    
+    private static String stripQuery(String endpoint) {
+        int query = endpoint.indexOf('?');
+        String path = query >= 0 ? endpoint.substring(0, query) : endpoint;
+        return path.startsWith("/") ? path : "/" + path;
+    }
+    
+    private static Map<String, String> parseQuery(String endpoint) {
+        int query = endpoint.indexOf('?');
+        if (query < 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> params = new HashMap<>();
+        for (String pair : endpoint.substring(query + 1).split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            params.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+    
+    private static class Route {
+        private final String method;
+        private final String[] segments;
+        private final LocalHandler handler;
+        
+        Route(String method, String pathPattern, LocalHandler handler) {
+            this.method = method;
+            this.segments = pathPattern.substring(pathPattern.startsWith("/") ? 1 : 0).split("/");
+            this.handler = handler;
+        }
+        
+        /**
+         * Path parameters if the request matches this route, otherwise null
+         */
+        Map<String, String> match(String requestMethod, String path) {
+            if (!method.equals(requestMethod)) {
+                return null;
+            }
+            String[] parts = path.substring(1).split("/");
+            if (parts.length != segments.length) {
+                return null;
+            }
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    params.put(segment.substring(1, segment.length() - 1), URLDecoder.decode(parts[i], StandardCharsets.UTF_8));
+                } else if (!segment.equals(parts[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.nexus.enrollment.common.service;
+
+import com.nexus.enrollment.common.resilience.ResilienceConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Client-side load balancer over the instances of one downstream service.
+ *
+ * Uses power-of-two-choices: pick two healthy instances at random and send the request to
+ * the one with fewer requests outstanding. Instances that fail repeatedly are ejected for a
+ * while; if every instance is ejected we fall back to all of them rather than failing outright.
+ * Pools are shared process-wide so outstanding counts reflect all clients in the JVM.
+ */
+public class InstancePool {
+    private static final Map<String, InstancePool> pools = new ConcurrentHashMap<>();
+    
+    private final List<ServiceInstance> instances;
+    
+    private InstancePool(List<ServiceInstance> instances) {
+        this.instances = instances;
+    }
+    
+    /**
+     * Pool for a service, created from a comma-separated list of base URLs on first use
+     */
+    static InstancePool forService(String serviceName, String baseUrls, ResilienceConfig config) {
+        return pools.computeIfAbsent(serviceName, name -> {
+            List<ServiceInstance> instances = new ArrayList<>();
+            for (String url : baseUrls.split(",")) {
+                String trimmed = url.trim();
+                if (trimmed.endsWith("/")) {
+                    trimmed = trimmed.substring(0, trimmed.length() - 1);
+                }
+                if (!trimmed.isEmpty()) {
+                    instances.add(new ServiceInstance(name, trimmed, config.getEjectAfterFailures(), config.getEjectionMillis()));
+                }
+            }
+            if (instances.isEmpty()) {
+                throw new IllegalArgumentException("No instance URLs configured for service: " + name);
+            }
+            return new InstancePool(Collections.unmodifiableList(instances));
+        });
+    }
+    
+    /**
+     * Every instance known so far, keyed by service name
+     */
+    public static Map<String, List<ServiceInstance>> allInstances() {
+        Map<String, List<ServiceInstance>> all = new TreeMap<>();
+        pools.forEach((name, pool) -> all.put(name, pool.instances));
+        return all;
+    }
+    
+    ServiceInstance choose() {
+        if (instances.size() == 1) {
+            return instances.get(0);
+        }
+        
+        List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!instance.isEjected()) {
+                healthy.add(instance);
+            }
+        }
+        if (healthy.isEmpty()) {
+            healthy = instances;
+        }
+        if (healthy.size() == 1) {
+            return healthy.get(0);
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(healthy.size());
+        int second = random.nextInt(healthy.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = healthy.get(first);
+        ServiceInstance b = healthy.get(second);
+        return a.getOutstanding() <= b.getOutstanding() ? a : b;
+    }
+    
+    public List<ServiceInstance> getInstances() {
+        return instances;
+    }
+}
@@ -0,0 +1,10 @@
+package com.nexus.enrollment.common.service;
+
+/**
+ * Handles one route for the in-process transport. Returns the response data directly
+ * instead of writing it to an HTTP response.
+ */
+@FunctionalInterface
+public interface LocalHandler {
+    Object handle(LocalRequest request) throws Exception;
+}
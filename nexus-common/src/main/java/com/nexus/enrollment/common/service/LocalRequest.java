@@ -0,0 +1,57 @@
+package com.nexus.enrollment.common.service;
+
+import com.nexus.enrollment.common.exceptions.BadRequestException;
+import java.util.Map;
+
+/**
+ * A request dispatched in-process: path parameters, query parameters and the caller's
+ * request body object. Mirrors the parts of Javalin's Context that handlers use.
+ */
+public class LocalRequest {
+    private final Map<String, String> pathParams;
+    private final Map<String, String> queryParams;
+    private final Object body;
+    private final InProcessTransport transport;
+    
+    LocalRequest(Map<String, String> pathParams, Map<String, String> queryParams, Object body, InProcessTransport transport) {
+        this.pathParams = pathParams;
+        this.queryParams = queryParams;
+        this.body = body;
+        this.transport = transport;
+    }
+    
+    public String pathParam(String name) {
+        String value = pathParams.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("No path parameter named " + name);
+        }
+        return value;
+    }
+    
+    public Long pathParamAsLong(String name) {
+        return Long.parseLong(pathParam(name)); // NumberFormatException mapped like the HTTP path
+    }
+    
+    public String queryParam(String name) {
+        return queryParams.get(name);
+    }
+    
+    /**
+     * The query parameter as an Integer, or null if it is absent
+     */
+    public Integer queryParamAsInteger(String name) {
+        String value = queryParam(name);
+        return value == null || value.isEmpty() ? null : Integer.valueOf(value); // NumberFormatException mapped like the HTTP path
+    }
+    
+    /**
+     * The request body as the given type. The caller's object is copied, so the handler
+     * can never mutate state owned by the calling service.
+     */
+    public <T> T bodyAs(Class<T> type) {
+        if (body == null) {
+            throw new BadRequestException("Request body is required");
+        }
+        return transport.copy(body, transport.constructType(type));
+    }
+}
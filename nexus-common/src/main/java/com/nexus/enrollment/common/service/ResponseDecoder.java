@@ -0,0 +1,131 @@
+package com.nexus.enrollment.common.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Single-pass decoder for inter-service responses.
+ *
+ * Reads the response envelope token by token and binds the "data" node straight into the
+ * target type, so a body is parsed exactly once and never materialised as a String or Map.
+ * Both envelope flavours used in this system are understood: ResponseBuilder.Response
+ * ({"success": true, ...}) and BaseHandler.ResponseWrapper ({"status": "success", ...}).
+ * Bodies that are not wrapped in an envelope are bound directly to the target type.
+ */
+class ResponseDecoder {
+    private final ObjectMapper objectMapper;
+    
+    ResponseDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Decode a 2xx response body into a ServiceResponse of the given type
+     */
+    <T> ServiceResponse<T> decode(JsonParser parser, JavaType responseType) throws IOException {
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            return ServiceResponse.success(null);
+        }
+        if (first != JsonToken.START_OBJECT) {
+            // Top-level arrays and scalars can never be an envelope
+            T data = objectMapper.readValue(parser, responseType);
+            return ServiceResponse.success(data);
+        }
+        
+        Boolean success = null;
+        String message = null;
+        T data = null;
+        boolean dataBound = false;
+        
+        // Fields seen before we know whether this is an envelope are kept so a plain
+        // object can still be bound without re-reading the body
+        TokenBuffer passthrough = new TokenBuffer(parser);
+        passthrough.writeStartObject();
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            
+            if ("success".equals(field) && value.isBoolean()) {
+                success = value == JsonToken.VALUE_TRUE;
+            } else if ("status".equals(field) && value == JsonToken.VALUE_STRING) {
+                success = "success".equalsIgnoreCase(parser.getText());
+            } else if (success != null && "message".equals(field)) {
+                message = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+            } else if (success != null && "data".equals(field)) {
+                data = value == JsonToken.VALUE_NULL ? null : objectMapper.readValue(parser, responseType);
+                dataBound = true;
+            } else if (success != null) {
+                parser.skipChildren();
+            } else {
+                passthrough.writeFieldName(field);
+                passthrough.copyCurrentStructure(parser);
+            }
+        }
+        passthrough.writeEndObject();
+        
+        if (success == null) {
+            // Not an envelope - the object itself is the payload
+            T direct = objectMapper.readValue(passthrough.asParser(), responseType);
+            return ServiceResponse.success(direct);
+        }
+        
+        // Envelope fields that arrived before the status marker were buffered; recover them
+        if (!dataBound || message == null) {
+            JsonNode early = objectMapper.readTree(passthrough.asParser());
+            if (message == null && early.hasNonNull("message")) {
+                message = early.get("message").asText();
+            }
+            if (!dataBound && early.hasNonNull("data")) {
+                data = objectMapper.readValue(objectMapper.treeAsTokens(early.get("data")), responseType);
+            }
+        }
+        
+        if (!success) {
+            return ServiceResponse.error(message != null ? message : "Unknown error");
+        }
+        return message != null ? ServiceResponse.success(message, data) : ServiceResponse.success(data);
+    }
+    
+    /**
+     * Decode a non-2xx response body into an error ServiceResponse
+     */
+    <T> ServiceResponse<T> decodeError(int statusCode, byte[] body) {
+        if (body != null && body.length > 0) {
+            try (JsonParser parser = objectMapper.createParser(body)) {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.currentName();
+                        JsonToken value = parser.nextToken();
+                        if ("message".equals(field) && value == JsonToken.VALUE_STRING) {
+                            return ServiceResponse.error(parser.getText(), errorCodeFor(statusCode));
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            } catch (IOException e) {
+                // Log parsing failure for debugging (could be enhanced with proper logging)
+                System.err.println("Failed to parse error response as JSON: " + e.getMessage());
+            }
+        }
+        
+        // Fallback to raw response with status code
+        String errorMessage = "Service responded with status " + statusCode;
+        String rawBody = body != null ? new String(body, StandardCharsets.UTF_8).trim() : "";
+        if (!rawBody.isEmpty()) {
+            errorMessage += ": " + rawBody;
+        }
+        return ServiceResponse.error(errorMessage, errorCodeFor(statusCode));
+    }
+    
+    private static String errorCodeFor(int statusCode) {
+        return statusCode == 404 ? ServiceResponse.NOT_FOUND : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.nexus.enrollment.common.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One running instance of a downstream service, with the bookkeeping the load balancer needs:
+ * requests currently outstanding and consecutive failures for passive ejection.
+ */
+public class ServiceInstance {
+    private final String serviceName;
+    private final String baseUrl;
+    private final int ejectAfterFailures;
+    private final long ejectionMillis;
+    
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong totalRequests = new AtomicLong();
+    private final AtomicLong totalFailures = new AtomicLong();
+    private final AtomicLong timesEjected = new AtomicLong();
+    private volatile long ejectedUntil;
+    
+    ServiceInstance(String serviceName, String baseUrl, int ejectAfterFailures, long ejectionMillis) {
+        this.serviceName = serviceName;
+        this.baseUrl = baseUrl;
+        this.ejectAfterFailures = ejectAfterFailures;
+        this.ejectionMillis = ejectionMillis;
+    }
+    
+    void begin() {
+        outstanding.incrementAndGet();
+        totalRequests.incrementAndGet();
+    }
+    
+    void end(boolean failed) {
+        outstanding.decrementAndGet();
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return;
+        }
+        totalFailures.incrementAndGet();
+        if (consecutiveFailures.incrementAndGet() >= ejectAfterFailures) {
+            consecutiveFailures.set(0);
+            ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+            timesEjected.incrementAndGet();
+            System.err.println("Ejecting " + serviceName + " instance " + baseUrl + " for " + ejectionMillis + "ms after repeated failures");
+        }
+    }
+    
+    public boolean isEjected() {
+        return System.currentTimeMillis() < ejectedUntil;
+    }
+    
+    public String getServiceName() { return serviceName; }
+    public String getBaseUrl() { return baseUrl; }
+    public int getOutstanding() { return outstanding.get(); }
+    public long getTotalRequests() { return totalRequests.get(); }
+    public long getTotalFailures() { return totalFailures.get(); }
+    public long getTimesEjected() { return timesEjected.get(); }
+}
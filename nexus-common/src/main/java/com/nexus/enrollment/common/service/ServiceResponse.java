@@ -4,6 +4,14 @@ package com.nexus.enrollment.common.service;
  * Standardized response wrapper for inter-service communication
  */
 public class ServiceResponse<T> {
+    /** The service answered that the requested resource does not exist */
+    public static final String NOT_FOUND = "NOT_FOUND";
+    /**
+     * The request was sent but no answer came back (timeout, dropped connection). The
+     * service may or may not have acted on it.
+     */
+    public static final String NO_RESPONSE = "NO_RESPONSE";
+    
     private final boolean success;
     private final String message;
     private final T data;
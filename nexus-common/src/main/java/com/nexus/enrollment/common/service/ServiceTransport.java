@@ -0,0 +1,16 @@
+package com.nexus.enrollment.common.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries a request from ServiceClient to another service and brings back its response
+ */
+public interface ServiceTransport {
+    
+    <T> ServiceResponse<T> send(String serviceName, String endpoint, String method,
+                                Object requestBody, JavaType responseType);
+    
+    <T> CompletableFuture<ServiceResponse<T>> sendAsync(String serviceName, String endpoint, String method,
+                                                        Object requestBody, JavaType responseType);
+}
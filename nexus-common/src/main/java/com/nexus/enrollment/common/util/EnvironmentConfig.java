@@ -0,0 +1,38 @@
+package com.nexus.enrollment.common.util;
+
+/**
+ * Reads configuration settings. A JVM system property (-DCOURSE_SERVICE_PORT=9082) takes
+ * precedence over the environment variable of the same name, which makes it easy to start
+ * several instances of one service on a single host.
+ */
+public class EnvironmentConfig {
+    
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(key);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+    
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    public static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+    
+    public static boolean isSet(String key) {
+        return getString(key, null) != null;
+    }
+}
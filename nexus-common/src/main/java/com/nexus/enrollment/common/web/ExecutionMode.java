@@ -0,0 +1,88 @@
+package com.nexus.enrollment.common.web;
+
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import io.javalin.util.ConcurrencyUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Which kind of thread runs request handlers and ServiceClient callbacks, set with
+ * EXECUTION_MODE=virtual|platform.
+ *
+ * Handlers spend most of their time blocked on calls to other services. On a platform
+ * thread pool that caps throughput at pool size / call latency; with a virtual thread per
+ * request a blocked handler only costs a small heap object. Virtual threads need JDK 21, so
+ * the default is platform unless the build used the jdk21 profile; asking for VIRTUAL on an
+ * older runtime falls back to PLATFORM with a warning.
+ */
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL;
+    
+    /**
+     * The mode for this process. Resolved once, before the first server or client is created,
+     * since Javalin reads the setting when it builds its thread pools.
+     */
+    public static ExecutionMode current() {
+        return Holder.MODE;
+    }
+    
+    /**
+     * Executor for background work that matches the execution mode: one virtual thread per
+     * task, or a cached platform thread pool
+     */
+    public static ExecutorService newExecutor(String name) {
+        if (current() == VIRTUAL) {
+            return ConcurrencyUtil.executorService(name);
+        }
+        // Daemon threads, like the HttpClient's own default pool, so they never hold the JVM open
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    private static ExecutionMode resolve() {
+        ExecutionMode buildDefault = buildDefault();
+        String configured = EnvironmentConfig.getString("EXECUTION_MODE", buildDefault.name());
+        ExecutionMode mode;
+        try {
+            mode = valueOf(configured.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid value for EXECUTION_MODE: " + configured + ", using " + buildDefault.name().toLowerCase());
+            mode = buildDefault;
+        }
+        if (mode == VIRTUAL && !ConcurrencyUtil.isLoomAvailable()) {
+            System.err.println("Virtual threads need JDK 21 or later (running " + System.getProperty("java.version")
+                    + "), using platform threads");
+            mode = PLATFORM;
+        }
+        ConcurrencyUtil.INSTANCE.setUseLoom(mode == VIRTUAL);
+        return mode;
+    }
+    
+    /**
+     * The mode the build was made for, written into nexus-build.properties by Maven
+     */
+    private static ExecutionMode buildDefault() {
+        Properties properties = new Properties();
+        try (InputStream in = ExecutionMode.class.getResourceAsStream("/nexus-build.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            // Fall through to the platform default
+        }
+        String mode = properties.getProperty("execution.mode", "platform");
+        return VIRTUAL.name().equalsIgnoreCase(mode) ? VIRTUAL : PLATFORM;
+    }
+    
+    private static class Holder {
+        private static final ExecutionMode MODE = resolve();
+    }
+}
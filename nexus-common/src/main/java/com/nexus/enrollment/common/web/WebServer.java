@@ -5,15 +5,30 @@ import io.javalin.http.BadRequestResponse;
 import io.javalin.http.InternalServerErrorResponse;
 import io.javalin.http.NotFoundResponse;
 import io.javalin.json.JavalinJackson;
+import io.javalin.routing.HandlerEntry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexus.enrollment.common.exceptions.BadRequestException;
+import com.nexus.enrollment.common.exceptions.DeadlineExceededException;
 import com.nexus.enrollment.common.exceptions.HttpException;
 import com.nexus.enrollment.common.exceptions.InvalidFormatException;
+import com.nexus.enrollment.common.metrics.MetricsRegistry;
+import com.nexus.enrollment.common.metrics.RequestMetrics;
+import com.nexus.enrollment.common.resilience.ServiceGuard;
+import com.nexus.enrollment.common.service.Deadline;
+import com.nexus.enrollment.common.service.InstancePool;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
 import com.nexus.enrollment.common.util.ResponseBuilder;
+import java.time.Duration;
+import java.util.List;
 
 public class WebServer {
+    private static final String METRICS_ATTRIBUTE = "nexus.metrics";
+    private static final String STARTED_AT_ATTRIBUTE = "nexus.metrics.startedAt";
     
     public static Javalin createServer() {
+        // Decide between virtual and platform handler threads before Javalin builds its pool
+        ExecutionMode.current();
         return Javalin.create(config -> {
             // Configure Jackson to handle Java 8 date/time types
             ObjectMapper objectMapper = new ObjectMapper();
@@ -53,9 +68,87 @@ public class WebServer {
         });
     }
     
+    /**
+     * Record count, errors, in-flight requests and latency for every route, and serve them
+     * with the ServiceClient call metrics from GET /metrics in Prometheus text format
+     */
+    public static void configureMetrics(Javalin app) {
+        app.before(ctx -> {
+            // Label by the route's path pattern, not the concrete path, to keep series bounded
+            List<HandlerEntry> entries = app.javalinServlet().getMatcher().findEntries(ctx.method(), ctx.path());
+            String route = entries.isEmpty() ? "unmatched" : entries.get(0).getPath();
+            RequestMetrics metrics = MetricsRegistry.forRoute(ctx.method().name(), route);
+            ctx.attribute(METRICS_ATTRIBUTE, metrics);
+            ctx.attribute(STARTED_AT_ATTRIBUTE, metrics.start());
+        });
+        
+        app.after(ctx -> {
+            RequestMetrics metrics = ctx.attribute(METRICS_ATTRIBUTE);
+            Long startedAt = ctx.attribute(STARTED_AT_ATTRIBUTE);
+            if (metrics != null && startedAt != null) {
+                metrics.end(startedAt, ctx.statusCode() >= 500);
+            }
+        });
+        
+        app.get("/metrics", ctx -> ctx.contentType(MetricsRegistry.CONTENT_TYPE).result(MetricsRegistry.scrape()));
+    }
+    
+    /**
+     * Bind the request's deadline to the handling thread. Callers set it with the
+     * X-Request-Timeout-Ms header; REQUEST_TIMEOUT_MS gives requests without one a default
+     * budget (0, the default, means no deadline). Requests that arrive already out of time
+     * are rejected before any work is done.
+     */
+    public static void configureDeadlines(Javalin app) {
+        long defaultTimeoutMillis = EnvironmentConfig.getLong("REQUEST_TIMEOUT_MS", 0);
+        
+        app.before(ctx -> {
+            // Handler threads are pooled, so never inherit a previous request's deadline
+            Deadline.clear();
+            String header = ctx.header(Deadline.HEADER);
+            long timeoutMillis = defaultTimeoutMillis;
+            if (header != null) {
+                try {
+                    timeoutMillis = Long.parseLong(header.trim());
+                } catch (NumberFormatException e) {
+                    throw new BadRequestException("Invalid " + Deadline.HEADER + " header: " + header);
+                }
+                if (timeoutMillis <= 0) {
+                    throw new DeadlineExceededException("request arrived with no time remaining");
+                }
+            }
+            if (timeoutMillis > 0) {
+                Deadline.set(Deadline.after(Duration.ofMillis(timeoutMillis)));
+            }
+        });
+        
+        app.after(ctx -> Deadline.clear());
+    }
+    
+    public static void configureDiagnostics(Javalin app) {
+        // Circuit breaker state and rejection counts for every downstream service this node calls
+        app.get("/diagnostics/resilience", ctx ->
+            ctx.json(ResponseBuilder.success("Resilience metrics retrieved successfully", ServiceGuard.allMetrics())));
+        
+        // Downstream instances this node load-balances across, with outstanding requests and ejections
+        app.get("/diagnostics/instances", ctx ->
+            ctx.json(ResponseBuilder.success("Service instances retrieved successfully", InstancePool.allInstances())));
+    }
+    
+    /**
+     * Port to listen on, overridable via system property or environment variable
+     * (e.g. -DCOURSE_SERVICE_PORT=9082) so several instances can share a host
+     */
+    public static int resolvePort(String key, int defaultPort) {
+        return EnvironmentConfig.getInt(key, defaultPort);
+    }
+    
     public static Javalin createAndConfigureServer() {
         Javalin app = createServer();
         configureExceptionHandlers(app);
+        configureMetrics(app);
+        configureDeadlines(app);
+        configureDiagnostics(app);
         return app;
     }
 }
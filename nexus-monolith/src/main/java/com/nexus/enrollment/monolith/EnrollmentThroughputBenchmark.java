@@ -0,0 +1,281 @@
+package com.nexus.enrollment.monolith;
+
+import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.model.Student;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import com.nexus.enrollment.common.web.ExecutionMode;
+import com.nexus.enrollment.common.web.WebServer;
+import com.nexus.enrollment.course.CourseServiceApplication;
+import com.nexus.enrollment.course.handler.CoursesHandler;
+import com.nexus.enrollment.course.repository.CourseRepository;
+import com.nexus.enrollment.course.repository.InMemoryCourseRepository;
+import com.nexus.enrollment.course.service.CourseService;
+import com.nexus.enrollment.student.StudentServiceApplication;
+import com.nexus.enrollment.student.handler.StudentHandler;
+import com.nexus.enrollment.student.repository.InMemoryStudentRepository;
+import com.nexus.enrollment.student.repository.StudentRepository;
+import com.nexus.enrollment.student.service.EnrollmentService;
+import com.nexus.enrollment.student.service.StudentService;
+import com.nexus.enrollment.student.validator.PrerequisiteValidator;
+import io.javalin.Javalin;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares enrollment throughput with handlers on platform threads and on virtual threads.
+ *
+ * Each mode runs in its own JVM: a course service whose lookups take
+ * BENCHMARK_DOWNSTREAM_LATENCY_MS (default 50) and a student service in front of it. A
+ * closed-loop load of BENCHMARK_CONCURRENCY (default 2000) concurrent registrations is sent
+ * to POST /students/{id}/enroll/{courseId} for BENCHMARK_DURATION_SECONDS (default 10).
+ *
+ * Every request is a (student, course) pair not used before: BENCHMARK_STUDENTS (default
+ * 20000) students are cycled through BENCHMARK_COURSES (default 100) courses with room for
+ * everyone, so each registration goes all the way to a seat reservation on the course
+ * service instead of being turned away as a duplicate. Every registration therefore blocks
+ * on at least one slow call, and the platform run is capped by the Jetty pool size. Business
+ * rejections count as handled requests; 5xx and transport errors count as errors.
+ *
+ * Run on JDK 21 to get the virtual-thread numbers:
+ *   mvn -Pjdk21 install -DskipTests
+ *   mvn exec:java -pl nexus-monolith -Dexec.mainClass="com.nexus.enrollment.monolith.EnrollmentThroughputBenchmark"
+ */
+public class EnrollmentThroughputBenchmark {
+    
+    private static final String RESULT_PREFIX = "RESULT ";
+    private static final String[] SETTINGS = {
+        "BENCHMARK_CONCURRENCY", "BENCHMARK_DURATION_SECONDS", "BENCHMARK_DOWNSTREAM_LATENCY_MS",
+        "BENCHMARK_STUDENTS", "BENCHMARK_COURSES"
+    };
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "run".equals(args[0])) {
+            runOnce();
+            return;
+        }
+        
+        List<String> results = new ArrayList<>();
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            results.add(runInChildJvm(mode));
+        }
+        
+        System.out.println();
+        System.out.println(String.format("%-10s %-10s %10s %10s %10s %10s %10s",
+                "requested", "actual", "handled", "errors", "req/s", "p50 ms", "p99 ms"));
+        for (String result : results) {
+            String[] fields = result.split(" ");
+            System.out.println(String.format("%-10s %-10s %10s %10s %10s %10s %10s",
+                    fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]));
+        }
+    }
+    
+    /**
+     * Run one mode in a fresh JVM, so thread pools and JIT state never carry over between modes
+     */
+    private static String runInChildJvm(ExecutionMode mode) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-DEXECUTION_MODE=" + mode.name().toLowerCase());
+        for (String setting : SETTINGS) {
+            if (EnvironmentConfig.isSet(setting)) {
+                command.add("-D" + setting + "=" + EnvironmentConfig.getString(setting, null));
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(EnrollmentThroughputBenchmark.class.getName());
+        command.add("run");
+        
+        System.out.println("Running enrollment benchmark with " + mode.name().toLowerCase() + " threads...");
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = mode.name().toLowerCase() + " " + line.substring(RESULT_PREFIX.length());
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Benchmark run for " + mode + " failed");
+        }
+        return result;
+    }
+    
+    private static void runOnce() throws Exception {
+        int concurrency = EnvironmentConfig.getInt("BENCHMARK_CONCURRENCY", 2000);
+        int durationSeconds = EnvironmentConfig.getInt("BENCHMARK_DURATION_SECONDS", 10);
+        int latencyMillis = EnvironmentConfig.getInt("BENCHMARK_DOWNSTREAM_LATENCY_MS", 50);
+        int studentCount = EnvironmentConfig.getInt("BENCHMARK_STUDENTS", 20_000);
+        int courseCount = EnvironmentConfig.getInt("BENCHMARK_COURSES", 100);
+        int coursePort = WebServer.resolvePort("BENCHMARK_COURSE_PORT", 9182);
+        int studentPort = WebServer.resolvePort("BENCHMARK_STUDENT_PORT", 9181);
+        
+        // Must happen before any registry creates its ServiceClient. The bulkhead is opened up
+        // so that it measures the thread model, not our own concurrency limit.
+        System.setProperty("COURSE_SERVICE_URL", "http://localhost:" + coursePort);
+        System.setProperty("NOTIFICATION_SERVICE_URL", "http://localhost:" + coursePort);
+        System.setProperty("SERVICE_MAX_CONCURRENT_CALLS", String.valueOf(concurrency * 2));
+        
+        // Course service with a slow backing store
+        CourseRepository courseRepo = new InMemoryCourseRepository();
+        CourseServiceApplication.initializeSampleData(courseRepo);
+        long[] courseIds = new long[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course("BENCH" + i, "Benchmark Course " + i, "Generated for the benchmark", 1L,
+                    "Benchmark", Integer.MAX_VALUE, null);
+            courseIds[i] = courseRepo.save(course).getId();
+        }
+        Javalin courseApp = WebServer.createAndConfigureServer();
+        courseApp.before("/courses/*", ctx -> Thread.sleep(latencyMillis));
+        CourseServiceApplication.registerRoutes(courseApp, new CoursesHandler(new CourseService(courseRepo), courseRepo));
+        courseApp.start(coursePort);
+        
+        // Student service calling it
+        StudentRepository studentRepo = new InMemoryStudentRepository();
+        StudentServiceApplication.initializeSampleData(studentRepo);
+        long[] studentIds = new long[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("Student " + i, "student" + i + "@example.com", "Benchmark", "Benchmark");
+            studentIds[i] = studentRepo.save(student).getId();
+        }
+        StudentService studentService = new StudentService(studentRepo);
+        EnrollmentService enrollmentService = new EnrollmentService(studentRepo, Arrays.asList(new PrerequisiteValidator()));
+        Javalin studentApp = WebServer.createAndConfigureServer();
+        StudentServiceApplication.registerRoutes(studentApp, new StudentHandler(studentService, enrollmentService));
+        studentApp.start(studentPort);
+        
+        LoadGenerator load = new LoadGenerator("http://localhost:" + studentPort, concurrency, studentIds, courseIds);
+        load.run(Duration.ofSeconds(2)); // warm up
+        load.reset();
+        load.run(Duration.ofSeconds(durationSeconds));
+        
+        System.out.println(RESULT_PREFIX + ExecutionMode.current().name().toLowerCase()
+                + " " + load.handled.sum()
+                + " " + load.errors.sum()
+                + " " + (load.handled.sum() + load.errors.sum()) / durationSeconds
+                + " " + load.percentile(0.50)
+                + " " + load.percentile(0.99));
+        
+        studentApp.stop();
+        courseApp.stop();
+        System.exit(0);
+    }
+    
+    /**
+     * Closed-loop load: each of N simulated students sends its next registration as soon as
+     * the previous one is answered
+     */
+    private static class LoadGenerator {
+        private static final int MAX_LATENCY_MILLIS = 60_000;
+        
+        private final String baseUrl;
+        private final int concurrency;
+        private final long[] studentIds;
+        private final long[] courseIds;
+        private final AtomicLong nextPair = new AtomicLong();
+        private final HttpClient client;
+        private final LongAdder handled = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final AtomicLongArray latencyCounts = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+        private final LongAdder inFlight = new LongAdder();
+        
+        LoadGenerator(String baseUrl, int concurrency, long[] studentIds, long[] courseIds) {
+            this.baseUrl = baseUrl;
+            this.concurrency = concurrency;
+            this.studentIds = studentIds;
+            this.courseIds = courseIds;
+            this.client = HttpClient.newBuilder()
+                    .executor(Executors.newFixedThreadPool(4, task -> {
+                        Thread thread = new Thread(task, "load-generator");
+                        thread.setDaemon(true);
+                        return thread;
+                    }))
+                    .build();
+        }
+        
+        void run(Duration duration) throws InterruptedException {
+            AtomicBoolean active = new AtomicBoolean(true);
+            for (int user = 0; user < concurrency; user++) {
+                send(active, user);
+            }
+            Thread.sleep(duration.toMillis());
+            active.set(false);
+            // Let outstanding requests drain so they do not leak into the next phase
+            while (inFlight.sum() > 0) {
+                Thread.sleep(10);
+            }
+        }
+        
+        void reset() {
+            handled.reset();
+            errors.reset();
+            for (int i = 0; i < latencyCounts.length(); i++) {
+                latencyCounts.set(i, 0);
+            }
+        }
+        
+        long percentile(double fraction) {
+            long total = 0;
+            for (int i = 0; i < latencyCounts.length(); i++) {
+                total += latencyCounts.get(i);
+            }
+            long target = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < latencyCounts.length(); i++) {
+                seen += latencyCounts.get(i);
+                if (seen >= target && seen > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+        
+        private void send(AtomicBoolean active, int user) {
+            if (!active.get()) {
+                return;
+            }
+            // Every student takes every course once before any pair comes round again
+            long pair = nextPair.getAndIncrement();
+            long studentId = studentIds[(int) (pair % studentIds.length)];
+            long courseId = courseIds[(int) (pair / studentIds.length % courseIds.length)];
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/students/" + studentId + "/enroll/" + courseId))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            
+            long startedAt = System.nanoTime();
+            inFlight.increment();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.decrement();
+                if (!active.get()) {
+                    return; // answered after the phase ended
+                }
+                int latencyMillis = (int) Math.min(MAX_LATENCY_MILLIS, (System.nanoTime() - startedAt) / 1_000_000);
+                latencyCounts.incrementAndGet(latencyMillis);
+                if (error == null && response.statusCode() < 500) {
+                    handled.increment();
+                } else {
+                    errors.increment();
+                }
+                send(active, user);
+            });
+        }
+    }
+}
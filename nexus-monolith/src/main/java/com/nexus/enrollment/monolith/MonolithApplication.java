@@ -0,0 +1,116 @@
+package com.nexus.enrollment.monolith;
+
+import com.nexus.enrollment.admin.AdminServiceApplication;
+import com.nexus.enrollment.admin.handler.AdminHandler;
+import com.nexus.enrollment.admin.service.AdminService;
+import com.nexus.enrollment.admin.service.ReportService;
+import com.nexus.enrollment.common.service.InProcessTransport;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import com.nexus.enrollment.common.web.WebServer;
+import com.nexus.enrollment.course.CourseServiceApplication;
+import com.nexus.enrollment.course.handler.CoursesHandler;
+import com.nexus.enrollment.course.repository.CourseRepository;
+import com.nexus.enrollment.course.repository.InMemoryCourseRepository;
+import com.nexus.enrollment.course.service.CourseService;
+import com.nexus.enrollment.faculty.FacultyServiceApplication;
+import com.nexus.enrollment.faculty.handler.FacultyHandler;
+import com.nexus.enrollment.faculty.repository.FacultyRepository;
+import com.nexus.enrollment.faculty.repository.GradeRepository;
+import com.nexus.enrollment.faculty.repository.InMemoryFacultyRepository;
+import com.nexus.enrollment.faculty.repository.InMemoryGradeRepository;
+import com.nexus.enrollment.faculty.service.FacultyService;
+import com.nexus.enrollment.faculty.service.GradeService;
+import com.nexus.enrollment.notification.NotificationServiceApplication;
+import com.nexus.enrollment.notification.handler.NotificationHandler;
+import com.nexus.enrollment.notification.repository.InMemoryNotificationRepository;
+import com.nexus.enrollment.notification.repository.NotificationRepository;
+import com.nexus.enrollment.notification.service.NotificationService;
+import com.nexus.enrollment.student.StudentServiceApplication;
+import com.nexus.enrollment.student.handler.StudentHandler;
+import com.nexus.enrollment.student.repository.InMemoryStudentRepository;
+import com.nexus.enrollment.student.repository.StudentRepository;
+import com.nexus.enrollment.student.service.EnrollmentService;
+import com.nexus.enrollment.student.service.StudentService;
+import com.nexus.enrollment.student.validator.EnrollmentValidator;
+import com.nexus.enrollment.student.validator.PrerequisiteValidator;
+import io.javalin.Javalin;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs all five services in a single JVM behind one port.
+ *
+ * With SERVICE_TRANSPORT=in-process (the default) calls between services go straight to the
+ * other service's objects through InProcessTransport. With SERVICE_TRANSPORT=http they loop back
+ * over HTTP to this same server, which is handy for comparing the two.
+ */
+public class MonolithApplication {
+    
+    private static final String[] SERVICES = {"student", "course", "faculty", "admin", "notification"};
+    
+    public static void main(String[] args) {
+        int port = WebServer.resolvePort("MONOLITH_PORT", 8080);
+        boolean inProcess = !"http".equalsIgnoreCase(EnvironmentConfig.getString("SERVICE_TRANSPORT", "in-process"));
+        
+        // Must happen before any registry creates its ServiceClient
+        pointServicesAt(port);
+        
+        // Initialize repositories
+        StudentRepository studentRepo = new InMemoryStudentRepository();
+        CourseRepository courseRepo = new InMemoryCourseRepository();
+        FacultyRepository facultyRepo = new InMemoryFacultyRepository();
+        GradeRepository gradeRepo = new InMemoryGradeRepository();
+        NotificationRepository notificationRepo = new InMemoryNotificationRepository();
+        
+        // Initialize services
+        List<EnrollmentValidator> validators = Arrays.asList(new PrerequisiteValidator());
+        StudentService studentService = new StudentService(studentRepo);
+        EnrollmentService enrollmentService = new EnrollmentService(studentRepo, validators);
+        CourseService courseService = new CourseService(courseRepo);
+        FacultyService facultyService = new FacultyService(facultyRepo);
+        GradeService gradeService = new GradeService(gradeRepo);
+        AdminService adminService = new AdminService();
+        ReportService reportService = new ReportService();
+        NotificationService notificationService = new NotificationService(notificationRepo);
+        
+        // Initialize with sample data
+        StudentServiceApplication.initializeSampleData(studentRepo);
+        CourseServiceApplication.initializeSampleData(courseRepo);
+        FacultyServiceApplication.initializeSampleData(facultyRepo);
+        NotificationServiceApplication.initializeSampleData(notificationService);
+        
+        if (inProcess) {
+            InProcessTransport transport = InProcessTransport.getInstance();
+            StudentServiceApplication.registerInProcessRoutes(transport, studentService);
+            CourseServiceApplication.registerInProcessRoutes(transport, courseService);
+            FacultyServiceApplication.registerInProcessRoutes(transport, facultyService);
+            AdminServiceApplication.registerInProcessRoutes(transport, adminService);
+            NotificationServiceApplication.registerInProcessRoutes(transport, notificationService);
+        }
+        
+        Javalin app = WebServer.createAndConfigureServer();
+        StudentServiceApplication.registerRoutes(app, new StudentHandler(studentService, enrollmentService));
+        CourseServiceApplication.registerRoutes(app, new CoursesHandler(courseService, courseRepo));
+        FacultyServiceApplication.registerRoutes(app, new FacultyHandler(facultyService, gradeService));
+        AdminServiceApplication.registerRoutes(app, new AdminHandler(adminService, reportService));
+        NotificationServiceApplication.registerRoutes(app, new NotificationHandler(notificationService));
+        
+        app.start(port);
+        
+        System.out.println("Nexus monolith started on port " + port);
+        System.out.println("Inter-service transport: " + (inProcess ? "in-process" : "http"));
+    }
+    
+    /**
+     * Default every service URL to this server, so calls that are not served in-process
+     * still reach the right handlers. Explicitly configured URLs are left alone.
+     */
+    private static void pointServicesAt(int port) {
+        for (String service : SERVICES) {
+            String key = service.toUpperCase() + "_SERVICE_URL";
+            if (!EnvironmentConfig.isSet(key)) {
+                System.setProperty(key, "http://localhost:" + port);
+            }
+        }
+    }
+}
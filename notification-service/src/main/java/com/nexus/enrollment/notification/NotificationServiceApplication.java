@@ -1,50 +1,49 @@
 package com.nexus.enrollment.notification;
 
 import com.nexus.enrollment.common.enums.NotificationType;
+import com.nexus.enrollment.common.model.Notification;
 import com.nexus.enrollment.notification.repository.NotificationRepository;
 import com.nexus.enrollment.notification.repository.InMemoryNotificationRepository;
 import com.nexus.enrollment.notification.service.NotificationService;
 import com.nexus.enrollment.notification.handler.NotificationHandler;
+import com.nexus.enrollment.common.service.InProcessTransport;
+import com.nexus.enrollment.common.web.WebServer;
 import io.javalin.Javalin;
+import java.util.Arrays;
+import java.util.List;
 
 public class NotificationServiceApplication {
-
-    private static final int PORT = 8085;
-
+    
+    private static final int PORT = WebServer.resolvePort("NOTIFICATION_SERVICE_PORT", 8085);
+    
     public static void main(String[] args) {
         // Initialize repositories
         NotificationRepository notificationRepo = new InMemoryNotificationRepository();
-
+        
         // Initialize services
         NotificationService notificationService = new NotificationService(notificationRepo);
-
+        
         // Initialize handler
         NotificationHandler handler = new NotificationHandler(notificationService);
-
+        
         // Initialize with sample data
         initializeSampleData(notificationService);
-
+        
         // Start Javalin server
         startJavalinServer(handler);
     }
-
+    
     private static void startJavalinServer(NotificationHandler handler) {
-        Javalin app = Javalin.create(config -> {
-            config.http.defaultContentType = "application/json";
-        }).start(PORT);
-
-        // Notification Service Endpoints
-        app.post("/notifications", handler::sendNotification);
-        app.post("/notifications/create", handler::createAndSendNotification);
-        app.get("/notifications/user/{userId}", handler::getUserNotifications);
-        app.get("/notifications/type/{type}", handler::getNotificationsByType);
-        app.get("/notifications/user/{userId}/unread", handler::getUnreadNotifications);
-        app.put("/notifications/{notificationId}/read", handler::markAsRead);
-        app.post("/notifications/subscribe", handler::subscribeToNotifications);
+        Javalin app = WebServer.createAndConfigureServer();
 
+        app.start(PORT);
+        
+        registerRoutes(app, handler);
+        
         System.out.println("Notification Service started on port " + PORT);
         System.out.println("Available endpoints:");
         System.out.println("  POST /notifications - Send notification");
+        System.out.println("  POST /notifications/batch - Send several notifications at once");
         System.out.println("  POST /notifications/create - Create and send notification");
         System.out.println("  GET /notifications/user/{userId} - Get user notifications");
         System.out.println("  GET /notifications/type/{type} - Get notifications by type");
@@ -52,8 +51,37 @@ public class NotificationServiceApplication {
         System.out.println("  PUT /notifications/{notificationId}/read - Mark notification as read");
         System.out.println("  POST /notifications/subscribe - Subscribe to notification type");
     }
-
-    private static void initializeSampleData(NotificationService notificationService) {
+    
+    public static void registerRoutes(Javalin app, NotificationHandler handler) {
+        // Notification Service Endpoints
+        app.post("/notifications", handler::sendNotification);
+        app.post("/notifications/batch", handler::sendNotifications);
+        app.post("/notifications/create", handler::createAndSendNotification);
+        app.get("/notifications/user/{userId}", handler::getUserNotifications);
+        app.get("/notifications/type/{type}", handler::getNotificationsByType);
+        app.get("/notifications/user/{userId}/unread", handler::getUnreadNotifications);
+        app.put("/notifications/{notificationId}/read", handler::markAsRead);
+        app.post("/notifications/subscribe", handler::subscribeToNotifications);
+    }
+    
+    /**
+     * Register the routes other services call, so that in monolith mode they are served in-process.
+     * POST /notifications stays on HTTP: its body is bound with the strict web mapper there.
+     */
+    public static void registerInProcessRoutes(InProcessTransport transport, NotificationService notificationService) {
+        transport
+            .route("notification", "POST", "/notifications/batch", request -> {
+                List<Notification> notifications = Arrays.asList(request.bodyAs(Notification[].class));
+                notificationService.sendNotifications(notifications);
+                return notifications;
+            })
+            .route("notification", "GET", "/notifications/user/{userId}", request ->
+                notificationService.getUserNotifications(request.pathParamAsLong("userId")))
+            .route("notification", "GET", "/notifications/type/{type}", request ->
+                notificationService.getNotificationsByType(NotificationType.valueOf(request.pathParam("type"))));
+    }
+    
+    public static void initializeSampleData(NotificationService notificationService) {
         // Create some sample notifications
         notificationService.sendNotification(notificationService.createNotification(1L, NotificationType.ENROLLMENT_CONFIRMATION, 
                 "You have been successfully enrolled in CS101"));
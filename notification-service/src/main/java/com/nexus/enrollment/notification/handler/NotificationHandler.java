@@ -6,6 +6,7 @@ import com.nexus.enrollment.notification.service.NotificationService;
 import io.javalin.http.Context;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import java.util.Arrays;
 import java.util.List;
 
 public class NotificationHandler {
@@ -29,6 +30,19 @@ public class NotificationHandler {
         }
     }
     
+    /**
+     * POST /notifications/batch - Send several notifications in one request
+     */
+    public void sendNotifications(Context ctx) {
+        try {
+            List<Notification> notifications = Arrays.asList(ctx.bodyAsClass(Notification[].class));
+            notificationService.sendNotifications(notifications);
+            ctx.json(createSuccessResponse(notifications.size() + " notifications sent successfully", notifications));
+        } catch (Exception e) {
+            ctx.status(400).json(createErrorResponse(e.getMessage()));
+        }
+    }
+    
     /**
      * POST /notifications/create - Create and send a notification
      */
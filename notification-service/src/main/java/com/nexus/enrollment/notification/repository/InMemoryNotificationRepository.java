@@ -2,60 +2,39 @@ package com.nexus.enrollment.notification.repository;
 
 import com.nexus.enrollment.common.model.Notification;
 import com.nexus.enrollment.common.enums.NotificationType;
+import com.nexus.enrollment.common.repository.InMemoryCrudRepository;
+import com.nexus.enrollment.common.repository.SecondaryIndex;
 import java.util.*;
-import java.util.stream.Collectors;
 
-public class InMemoryNotificationRepository implements NotificationRepository {
-    private final Map<Long, Notification> notifications = new HashMap<>();
-    private Long nextId = 1L;
+public class InMemoryNotificationRepository extends InMemoryCrudRepository<Notification> implements NotificationRepository {
+    private final SecondaryIndex<Notification, Long> byUserId = index(Notification::getUserId);
+    private final SecondaryIndex<Notification, NotificationType> byType = index(Notification::getType);
+    // Only unread notifications are indexed here, so marking one read takes it out
+    private final SecondaryIndex<Notification, Long> unreadByUserId = index(
+            notification -> notification.isRead() ? null : notification.getUserId());
     
     @Override
-    public Notification save(Notification notification) {
-        if (notification.getId() == null) {
-            notification.setId(nextId++);
-        }
-        notifications.put(notification.getId(), notification);
-        return notification;
+    protected Long getId(Notification notification) {
+        return notification.getId();
     }
     
     @Override
-    public Optional<Notification> findById(Long id) {
-        return Optional.ofNullable(notifications.get(id));
-    }
-    
-    @Override
-    public List<Notification> findAll() {
-        return new ArrayList<>(notifications.values());
-    }
-    
-    @Override
-    public void deleteById(Long id) {
-        notifications.remove(id);
-    }
-    
-    @Override
-    public boolean existsById(Long id) {
-        return notifications.containsKey(id);
+    protected void setId(Notification notification, Long id) {
+        notification.setId(id);
     }
     
     @Override
     public List<Notification> findByUserId(Long userId) {
-        return notifications.values().stream()
-                .filter(notification -> notification.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        return findAllBy(byUserId, userId);
     }
     
     @Override
     public List<Notification> findByType(NotificationType type) {
-        return notifications.values().stream()
-                .filter(notification -> notification.getType().equals(type))
-                .collect(Collectors.toList());
+        return findAllBy(byType, type);
     }
     
     @Override
     public List<Notification> findUnreadByUserId(Long userId) {
-        return notifications.values().stream()
-                .filter(notification -> notification.getUserId().equals(userId) && !notification.isRead())
-                .collect(Collectors.toList());
+        return findAllBy(unreadByUserId, userId);
     }
 }
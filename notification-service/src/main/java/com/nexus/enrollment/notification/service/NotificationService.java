@@ -24,6 +24,12 @@ public class NotificationService {
         System.out.println("Notification sent to user " + notification.getUserId() + ": " + notification.getMessage());
     }
     
+    public void sendNotifications(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            sendNotification(notification);
+        }
+    }
+    
     public List<Notification> getUserNotifications(Long userId) {
         return notificationRepository.findByUserId(userId);
     }
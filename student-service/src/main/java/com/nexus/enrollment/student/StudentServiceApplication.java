@@ -4,6 +4,7 @@ import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.model.Enrollment;
 import com.nexus.enrollment.common.enums.EnrollmentStatus;
 import com.nexus.enrollment.common.web.WebServer;
+import com.nexus.enrollment.common.service.InProcessTransport;
 import com.nexus.enrollment.student.repository.StudentRepository;
 import com.nexus.enrollment.student.repository.InMemoryStudentRepository;
 import com.nexus.enrollment.student.service.StudentService;
@@ -17,7 +18,7 @@ import java.util.List;
 
 public class StudentServiceApplication {
     
-    private static final int PORT = 8081;
+    private static final int PORT = WebServer.resolvePort("STUDENT_SERVICE_PORT", 8081);
     private static StudentHandler studentHandler;
     
     public static void main(String[] args) {
@@ -49,33 +50,57 @@ public class StudentServiceApplication {
         System.out.println("Student Service started on port " + PORT);
         System.out.println("Available endpoints:");
         
-        // Student Service Endpoints using StudentHandler methods
-        app.get("/students", studentHandler::getAllStudents);
-        app.post("/students", studentHandler::createStudent);
-        app.get("/students/{id}", studentHandler::getStudentById);
-        app.put("/students/{id}", studentHandler::updateStudent);
-        app.delete("/students/{id}", studentHandler::deleteStudent);
-        app.get("/students/{id}/schedule", studentHandler::getStudentSchedule);
-        app.get("/students/{id}/enrollments", studentHandler::getStudentEnrollments);
-        app.post("/students/{id}/enroll/{courseId}", studentHandler::enrollStudent);
-        app.delete("/students/{id}/drop/{courseId}", studentHandler::dropCourse);
-        app.get("/students/{id}/waitlisted", studentHandler::getWaitlistedCourses);
-        app.post("/students/{id}/waitlist/{courseId}", studentHandler::addToWaitlist);
+        registerRoutes(app, studentHandler);
         
         System.out.println("  GET /students - Get all students");
         System.out.println("  POST /students - Create new student");
+        System.out.println("  GET /students/by-course/{courseId}?offset=0&limit=100 - Get a page of the students enrolled in a course");
         System.out.println("  GET /students/{id} - Get student by ID");
         System.out.println("  PUT /students/{id} - Update student");
         System.out.println("  DELETE /students/{id} - Delete student");
         System.out.println("  GET /students/{id}/schedule - Get student's schedule");
         System.out.println("  GET /students/{id}/enrollments - Get student's enrollments");
         System.out.println("  POST /students/{id}/enroll/{courseId} - Enroll in course (or add to waitlist if full)");
+        System.out.println("  POST /students/{id}/enroll - Enroll in several courses at once (ALL_OR_NOTHING or PARTIAL)");
         System.out.println("  DELETE /students/{id}/drop/{courseId} - Drop course");
         System.out.println("  GET /students/{id}/waitlisted - Get waitlisted courses");
         System.out.println("  POST /students/{id}/waitlist/{courseId} - Manually add to waitlist");
     }
     
-    private static void initializeSampleData(StudentRepository repo) {
+    public static void registerRoutes(Javalin app, StudentHandler studentHandler) {
+        // Student Service Endpoints using StudentHandler methods
+        app.get("/students", studentHandler::getAllStudents);
+        app.post("/students", studentHandler::createStudent);
+        app.get("/students/by-course/{courseId}", studentHandler::getStudentsByCourse);
+        app.get("/students/{id}", studentHandler::getStudentById);
+        app.put("/students/{id}", studentHandler::updateStudent);
+        app.delete("/students/{id}", studentHandler::deleteStudent);
+        app.get("/students/{id}/schedule", studentHandler::getStudentSchedule);
+        app.get("/students/{id}/enrollments", studentHandler::getStudentEnrollments);
+        app.post("/students/{id}/enroll/{courseId}", studentHandler::enrollStudent);
+        app.post("/students/{id}/enroll", studentHandler::enrollStudentInCourses);
+        app.delete("/students/{id}/drop/{courseId}", studentHandler::dropCourse);
+        app.get("/students/{id}/waitlisted", studentHandler::getWaitlistedCourses);
+        app.post("/students/{id}/waitlist/{courseId}", studentHandler::addToWaitlist);
+    }
+    
+    /**
+     * Register the routes other services call, so that in monolith mode they are served in-process
+     */
+    public static void registerInProcessRoutes(InProcessTransport transport, StudentService studentService) {
+        transport
+            .route("student", "GET", "/students", request -> studentService.getAllStudents())
+            .route("student", "GET", "/students/by-course/{courseId}", request ->
+                studentService.getStudentsByCourse(request.pathParamAsLong("courseId"),
+                    request.queryParamAsInteger("offset"), request.queryParamAsInteger("limit")))
+            .route("student", "GET", "/students/{id}", request -> studentService.getStudentById(request.pathParamAsLong("id")))
+            .route("student", "GET", "/students/{id}/schedule", request ->
+                studentService.getStudentSchedule(request.pathParamAsLong("id")))
+            .route("student", "GET", "/students/{id}/enrollments", request ->
+                studentService.getStudentEnrollments(request.pathParamAsLong("id")));
+    }
+    
+    public static void initializeSampleData(StudentRepository repo) {
         Student student1 = new Student("John Doe", "john.doe@example.com", "Computer Science", "Software Engineering");
         Student student2 = new Student("Jane Smith", "jane.smith@example.com", "Mathematics", "Applied Mathematics");
         Student student3 = new Student("Bob Wilson", "bob.wilson@example.com", "Physics", "Theoretical Physics");
@@ -1,8 +1,13 @@
 package com.nexus.enrollment.student.handler;
 
 import com.nexus.enrollment.common.model.Student;
+import com.nexus.enrollment.common.model.PagedResult;
 import com.nexus.enrollment.common.model.Enrollment;
 import com.nexus.enrollment.common.model.EnrollmentResult;
+import com.nexus.enrollment.common.model.CartEnrollmentRequest;
+import com.nexus.enrollment.common.model.CartEnrollmentResult;
+import com.nexus.enrollment.common.enums.CartCheckoutMode;
+import com.nexus.enrollment.common.exceptions.BadRequestException;
 import com.nexus.enrollment.common.model.Schedule;
 import com.nexus.enrollment.common.model.Course;
 import com.nexus.enrollment.common.handler.BaseHandler;
@@ -33,6 +38,16 @@ public class StudentHandler extends BaseHandler {
         ctx.json(createSuccessResponse("Student retrieved successfully", student));
     }
     
+    public void getStudentsByCourse(Context ctx) {
+        Long courseId = Long.parseLong(ctx.pathParam("courseId")); // NumberFormatException handled globally
+        String offset = ctx.queryParam("offset");
+        String limit = ctx.queryParam("limit");
+        PagedResult<Student> page = studentService.getStudentsByCourse(courseId,
+                offset != null ? Integer.valueOf(offset) : null,
+                limit != null ? Integer.valueOf(limit) : null); // NumberFormatException handled globally
+        ctx.json(createSuccessResponse("Students retrieved successfully", page));
+    }
+    
     public void createStudent(Context ctx) {
         Student student = ctx.bodyAsClass(Student.class);
         Student createdStudent = studentService.createStudent(student);
@@ -79,6 +94,24 @@ public class StudentHandler extends BaseHandler {
         }
     }
     
+    public void enrollStudentInCourses(Context ctx) {
+        Long studentId = Long.parseLong(ctx.pathParam("id"));
+        CartEnrollmentRequest request = ctx.bodyAsClass(CartEnrollmentRequest.class);
+        if (request == null || request.getCourseIds() == null || request.getCourseIds().isEmpty()) {
+            throw new BadRequestException("courseIds must list at least one course");
+        }
+        CartCheckoutMode mode = request.getMode() != null ? request.getMode() : CartCheckoutMode.ALL_OR_NOTHING;
+        
+        CartEnrollmentResult result = enrollmentService.enrollStudentInCourses(studentId, request.getCourseIds(), mode);
+        
+        if (result.isSuccess()) {
+            ctx.json(createSuccessResponse(result.getMessage(), result));
+        } else {
+            ctx.status(400);
+            ctx.json(createErrorResponse(result.getMessage(), result));
+        }
+    }
+    
     public void dropCourse(Context ctx) {
         Long studentId = Long.parseLong(ctx.pathParam("id"));
         Long courseId = Long.parseLong(ctx.pathParam("courseId"));
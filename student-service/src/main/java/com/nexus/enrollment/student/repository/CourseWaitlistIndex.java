@@ -0,0 +1,120 @@
+package com.nexus.enrollment.student.repository;
+
+import com.nexus.enrollment.common.enums.EnrollmentStatus;
+import com.nexus.enrollment.common.model.Enrollment;
+import com.nexus.enrollment.common.model.Student;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waitlist of each course, ordered by when the student joined it.
+ *
+ * Kept in step with the repository: every save re-reads the student's WAITLISTED enrollments
+ * and adds or removes that student from the affected courses only. Finding the next student
+ * for a course is a look at the head of a skip list, and removing a student is O(log n),
+ * so a drop no longer walks the whole student population.
+ */
+public class CourseWaitlistIndex {
+    private final Map<Long, CourseWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Entry>> entriesByStudent = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    
+    /**
+     * Bring the index in line with the student's current enrollments
+     */
+    public synchronized void update(Student student) {
+        Map<Long, Enrollment> waitlisted = new HashMap<>();
+        for (Enrollment enrollment : student.getEnrollments()) {
+            if (enrollment.getStatus() == EnrollmentStatus.WAITLISTED && enrollment.getCourseId() != null) {
+                waitlisted.putIfAbsent(enrollment.getCourseId(), enrollment);
+            }
+        }
+        
+        Map<Long, Entry> indexed = entriesByStudent.computeIfAbsent(student.getId(), id -> new HashMap<>());
+        indexed.entrySet().removeIf(indexedEntry -> {
+            if (waitlisted.containsKey(indexedEntry.getKey())) {
+                return false;
+            }
+            removeFromWaitlist(indexedEntry.getKey(), indexedEntry.getValue());
+            return true;
+        });
+        waitlisted.forEach((courseId, enrollment) -> indexed.computeIfAbsent(courseId, id -> {
+            Entry entry = new Entry(student.getId(), joinedAt(enrollment), sequence.incrementAndGet());
+            waitlists.computeIfAbsent(courseId, course -> new CourseWaitlist()).add(entry);
+            return entry;
+        }));
+        if (indexed.isEmpty()) {
+            entriesByStudent.remove(student.getId());
+        }
+    }
+    
+    /**
+     * Drop the student from every waitlist
+     */
+    public synchronized void remove(Long studentId) {
+        Map<Long, Entry> indexed = entriesByStudent.remove(studentId);
+        if (indexed != null) {
+            indexed.forEach(this::removeFromWaitlist);
+        }
+    }
+    
+    /**
+     * The student who has waited longest for the course
+     */
+    public Optional<Long> peek(Long courseId) {
+        CourseWaitlist waitlist = waitlists.get(courseId);
+        if (waitlist == null) {
+            return Optional.empty();
+        }
+        Iterator<Entry> entries = waitlist.entries.iterator();
+        return entries.hasNext() ? Optional.of(entries.next().studentId) : Optional.empty();
+    }
+    
+    // A course's waitlist is dropped as soon as it is empty, so only courses with someone waiting take up space
+    private void removeFromWaitlist(Long courseId, Entry entry) {
+        waitlists.computeIfPresent(courseId, (id, waitlist) -> {
+            waitlist.remove(entry);
+            return waitlist.isEmpty() ? null : waitlist;
+        });
+    }
+    
+    private static long joinedAt(Enrollment enrollment) {
+        return enrollment.getEnrollmentDate() != null ? enrollment.getEnrollmentDate().getTime() : System.currentTimeMillis();
+    }
+    
+    private static class CourseWaitlist {
+        // Earliest first; the sequence number keeps students who joined in the same millisecond in arrival order
+        private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(
+                Comparator.comparingLong((Entry entry) -> entry.joinedAt).thenComparingLong(entry -> entry.sequence));
+        
+        void add(Entry entry) {
+            entries.add(entry);
+        }
+        
+        void remove(Entry entry) {
+            entries.remove(entry);
+        }
+        
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+    }
+    
+    private static class Entry {
+        private final Long studentId;
+        private final long joinedAt;
+        private final long sequence;
+        
+        Entry(Long studentId, long joinedAt, long sequence) {
+            this.studentId = studentId;
+            this.joinedAt = joinedAt;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -2,56 +2,64 @@ package com.nexus.enrollment.student.repository;
 
 import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.model.Enrollment;
+import com.nexus.enrollment.common.model.PagedResult;
 import com.nexus.enrollment.common.enums.EnrollmentStatus;
+import com.nexus.enrollment.common.repository.InMemoryCrudRepository;
+import com.nexus.enrollment.common.repository.SecondaryIndex;
 import java.util.*;
-import java.util.stream.Collectors;
 
-public class InMemoryStudentRepository implements StudentRepository {
-    private final Map<Long, Student> students = new HashMap<>();
-    private Long nextId = 1L;
+public class InMemoryStudentRepository extends InMemoryCrudRepository<Student> implements StudentRepository {
+    private final SecondaryIndex<Student, String> byEmail = index(Student::getEmail);
+    private final SecondaryIndex<Student, Long> byCourseEnrolled = indexAll(InMemoryStudentRepository::enrolledCourseIds);
+    private final CourseWaitlistIndex waitlistIndex = new CourseWaitlistIndex();
     
     @Override
-    public Student save(Student student) {
-        if (student.getId() == null) {
-            student.setId(nextId++);
-        }
-        students.put(student.getId(), student);
-        return student;
+    protected Long getId(Student student) {
+        return student.getId();
     }
     
     @Override
-    public Optional<Student> findById(Long id) {
-        return Optional.ofNullable(students.get(id));
+    protected void setId(Student student, Long id) {
+        student.setId(id);
     }
     
     @Override
-    public List<Student> findAll() {
-        return new ArrayList<>(students.values());
+    protected void afterSave(Student previous, Student student) {
+        waitlistIndex.update(student);
     }
     
     @Override
-    public void deleteById(Long id) {
-        students.remove(id);
+    protected void afterDelete(Long id, Student student) {
+        waitlistIndex.remove(id);
     }
     
     @Override
-    public boolean existsById(Long id) {
-        return students.containsKey(id);
+    public Optional<Student> findByEmail(String email) {
+        return findFirstBy(byEmail, email);
     }
     
     @Override
-    public Optional<Student> findByEmail(String email) {
-        return students.values().stream()
-                .filter(student -> student.getEmail().equals(email))
-                .findFirst();
+    public List<Student> findByCourseEnrolled(Long courseId) {
+        return findAllBy(byCourseEnrolled, courseId);
     }
     
     @Override
-    public List<Student> findByCourseEnrolled(Long courseId) {
-        return students.values().stream()
-                .filter(student -> student.getEnrollments().stream()
-                        .anyMatch(enrollment -> enrollment.getCourseId().equals(courseId) 
-                                && enrollment.getStatus() == EnrollmentStatus.ENROLLED))
-                .collect(Collectors.toList());
+    public PagedResult<Student> findByCourseEnrolled(Long courseId, int offset, int limit) {
+        return findPageBy(byCourseEnrolled, courseId, offset, limit);
+    }
+    
+    @Override
+    public Optional<Student> findNextWaitlisted(Long courseId) {
+        return waitlistIndex.peek(courseId).flatMap(this::findById);
+    }
+    
+    private static Set<Long> enrolledCourseIds(Student student) {
+        Set<Long> courseIds = new HashSet<>();
+        for (Enrollment enrollment : student.getEnrollments()) {
+            if (enrollment.getStatus() == EnrollmentStatus.ENROLLED) {
+                courseIds.add(enrollment.getCourseId());
+            }
+        }
+        return courseIds;
     }
 }
@@ -1,5 +1,6 @@
 package com.nexus.enrollment.student.repository;
 
+import com.nexus.enrollment.common.model.PagedResult;
 import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.repository.CrudRepository;
 import java.util.List;
@@ -8,4 +9,14 @@ import java.util.Optional;
 public interface StudentRepository extends CrudRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     List<Student> findByCourseEnrolled(Long courseId);
+    
+    /**
+     * A page of the students enrolled in the course, in id order
+     */
+    PagedResult<Student> findByCourseEnrolled(Long courseId, int offset, int limit);
+    
+    /**
+     * The student who has been waitlisted for the course the longest
+     */
+    Optional<Student> findNextWaitlisted(Long courseId);
 }
@@ -0,0 +1,239 @@
+package com.nexus.enrollment.student.service;
+
+import com.nexus.enrollment.common.exceptions.DeadlineExceededException;
+import com.nexus.enrollment.common.service.Deadline;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs seat decisions for each course on a single writer thread.
+ *
+ * Courses are spread over ENROLLMENT_SHARDS shards (default: one per CPU). Each shard is a
+ * single-threaded mailbox: the local checks and changes behind a seat decision - the
+ * duplicate check, recording the enrollment, joining the waitlist and promoting from it on a
+ * drop - run on it one step at a time, with no locks. Calls to Course Service are not made
+ * on the shard thread. Work returns a stage that completes when its call does, and the shard
+ * moves on to other courses in the meantime.
+ *
+ * Within one course, work is either shared or exclusive. Shared work (taking a seat) may be
+ * waiting on Course Service for several requests at once, since Course Service hands out
+ * seats atomically. Exclusive work (giving a seat back, the waitlist) waits for all
+ * in-flight work on the course and holds back everything behind it until its stage
+ * completes. A seat freed by a drop can therefore never pass a request that was just told
+ * the course is full and is about to join the waitlist.
+ */
+public class EnrollmentEngine {
+    private final ExecutorService[] shards;
+    // Per-course queues, each only touched by its shard's thread
+    private final List<Map<Long, CourseLane>> lanes;
+    
+    public EnrollmentEngine() {
+        this(EnvironmentConfig.getInt("ENROLLMENT_SHARDS", Runtime.getRuntime().availableProcessors()));
+    }
+    
+    public EnrollmentEngine(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Enrollment engine needs at least one shard, got " + shardCount);
+        }
+        this.shards = new ExecutorService[shardCount];
+        this.lanes = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            shards[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "enrollment-shard-" + shard);
+                thread.setDaemon(true);
+                return thread;
+            });
+            lanes.add(new HashMap<>());
+        }
+    }
+    
+    /**
+     * Run exclusive work for the course and wait for its result; see executeShared
+     */
+    public <T> T execute(Long courseId, Supplier<? extends CompletionStage<T>> work) {
+        return await(courseId, enqueue(courseId, true, work));
+    }
+    
+    /**
+     * Run shared work for the course and wait for its result. Exceptions thrown by the work
+     * are rethrown to the caller unchanged. The work runs under the caller's deadline. If
+     * the deadline passes before the work has started, it never starts and the caller gets a
+     * DeadlineExceededException. Work that has already started is waited for, so a caller is
+     * never told it timed out while its change is still being made.
+     */
+    public <T> T executeShared(Long courseId, Supplier<? extends CompletionStage<T>> work) {
+        return await(courseId, enqueue(courseId, false, work));
+    }
+    
+    /**
+     * Queue exclusive work for the course without waiting for it, e.g. to work on several
+     * courses in parallel. The work runs under the caller's deadline and is skipped if that
+     * has passed by the time its turn comes.
+     */
+    public <T> CompletableFuture<T> submit(Long courseId, Supplier<? extends CompletionStage<T>> work) {
+        return enqueue(courseId, true, work).result;
+    }
+    
+    /**
+     * Queue shared work for the course without waiting for it; see submit
+     */
+    public <T> CompletableFuture<T> submitShared(Long courseId, Supplier<? extends CompletionStage<T>> work) {
+        return enqueue(courseId, false, work).result;
+    }
+    
+    /**
+     * The course's shard, for continuing work after a call to another service
+     */
+    public Executor executorFor(Long courseId) {
+        return shards[shardFor(courseId)];
+    }
+    
+    private <T> Task<T> enqueue(Long courseId, boolean exclusive, Supplier<? extends CompletionStage<T>> work) {
+        int shard = shardFor(courseId);
+        Task<T> task = new Task<>(courseId, exclusive, work, Deadline.current());
+        shards[shard].execute(() -> lanes.get(shard).computeIfAbsent(courseId, CourseLane::new).add(task));
+        return task;
+    }
+    
+    private <T> T await(Long courseId, Task<T> task) {
+        Deadline deadline = task.deadline;
+        try {
+            if (deadline == null) {
+                return task.result.join();
+            }
+            return task.result.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (CompletionException | ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            if (task.started.compareAndSet(false, true)) {
+                // It will be skipped when its turn comes
+                throw new DeadlineExceededException("Request deadline exceeded while waiting for course " + courseId);
+            }
+            try {
+                return task.result.join();
+            } catch (CompletionException failed) {
+                throw rethrow(failed.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for course " + courseId, e);
+        }
+    }
+    
+    private int shardFor(Long courseId) {
+        return Math.floorMod(courseId.hashCode(), shards.length);
+    }
+    
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+    
+    /**
+     * Work queued for one course, in arrival order. Only used on the course's shard thread.
+     */
+    private class CourseLane {
+        private final Long courseId;
+        private final Deque<Task<?>> waiting = new ArrayDeque<>();
+        private int running;
+        private boolean exclusive;
+        
+        CourseLane(Long courseId) {
+            this.courseId = courseId;
+        }
+        
+        void add(Task<?> task) {
+            waiting.add(task);
+            dispatch();
+        }
+        
+        private void dispatch() {
+            while (!waiting.isEmpty() && !exclusive) {
+                Task<?> next = waiting.peek();
+                if (next.exclusive && running > 0) {
+                    return;
+                }
+                waiting.poll();
+                running++;
+                exclusive = next.exclusive;
+                next.start().whenComplete((ignored, error) -> executorFor(courseId).execute(this::finished));
+            }
+        }
+        
+        private void finished() {
+            running--;
+            exclusive = false;
+            dispatch();
+            if (running == 0 && waiting.isEmpty()) {
+                lanes.get(shardFor(courseId)).remove(courseId);
+            }
+        }
+    }
+    
+    private static class Task<T> {
+        private final Long courseId;
+        private final boolean exclusive;
+        private final Supplier<? extends CompletionStage<T>> work;
+        private final Deadline deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Set by whoever gets there first: the shard starting the work, or a caller giving up on it
+        private final AtomicBoolean started = new AtomicBoolean();
+        
+        Task(Long courseId, boolean exclusive, Supplier<? extends CompletionStage<T>> work, Deadline deadline) {
+            this.courseId = courseId;
+            this.exclusive = exclusive;
+            this.work = work;
+            this.deadline = deadline;
+        }
+        
+        /**
+         * Start the work on the shard thread, unless its caller has already given up on it
+         * @return completes, normally, once the work is done or skipped
+         */
+        CompletableFuture<Void> start() {
+            if (!started.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (deadline != null && deadline.isExpired()) {
+                result.completeExceptionally(new DeadlineExceededException(
+                        "Request deadline exceeded while waiting for course " + courseId));
+                return CompletableFuture.completedFuture(null);
+            }
+            try {
+                Deadline.callWith(deadline, work).whenComplete((value, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return result.handle((value, error) -> null);
+        }
+    }
+}
@@ -1,43 +1,62 @@
 package com.nexus.enrollment.student.service;
 
+import com.nexus.enrollment.common.model.CartEnrollmentResult;
 import com.nexus.enrollment.common.model.EnrollmentResult;
 import com.nexus.enrollment.common.model.Enrollment;
 import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.model.Course;
+import com.nexus.enrollment.common.model.SeatReservation;
 import com.nexus.enrollment.common.model.ValidationResult;
+import com.nexus.enrollment.common.enums.CartCheckoutMode;
 import com.nexus.enrollment.common.enums.EnrollmentStatus;
+import com.nexus.enrollment.common.enums.NotificationType;
 import com.nexus.enrollment.common.exceptions.NotFoundException;
 import com.nexus.enrollment.common.service.ServiceResponse;
 import com.nexus.enrollment.common.registries.CourseServiceRegistry;
-import com.nexus.enrollment.common.registries.NotificationServiceRegistry;
-import com.nexus.enrollment.common.registries.AdminServiceRegistry;
 import com.nexus.enrollment.student.repository.StudentRepository;
 import com.nexus.enrollment.student.validator.EnrollmentValidator;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EnrollmentService {
     private final StudentRepository studentRepository;
     private final List<EnrollmentValidator> validators;
+    private final EnrollmentEngine engine;
+    private final NotificationOutbox outbox;
+    // (student, course) pairs whose seat reservation is still waiting on Course Service
+    private final Set<List<Long>> seatsBeingTaken = ConcurrentHashMap.newKeySet();
     
     public EnrollmentService(StudentRepository studentRepository, List<EnrollmentValidator> validators) {
+        this(studentRepository, validators, new EnrollmentEngine(), NotificationOutbox.fromEnvironment());
+    }
+    
+    public EnrollmentService(StudentRepository studentRepository, List<EnrollmentValidator> validators,
+                             EnrollmentEngine engine, NotificationOutbox outbox) {
         this.studentRepository = studentRepository;
         this.validators = validators != null ? validators : new ArrayList<>();
+        this.engine = engine;
+        this.outbox = outbox;
     }
     
     public EnrollmentResult enrollStudent(Long studentId, Long courseId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new NotFoundException("Student", studentId));
         
-        // Check if course exists using Course Service
+        // Check if course exists - the catalog view is enough, seats are taken atomically below
         ServiceResponse<Course> courseResponse = CourseServiceRegistry.getCourse(courseId);
         if (!courseResponse.isSuccess()) {
-            return new EnrollmentResult(false, "Course not found: " + courseResponse.getMessage(), null);
+            return courseUnavailable(courseResponse);
         }
         
-        Course course = courseResponse.getData();
-        
         // Validation logic using Strategy pattern
         for (EnrollmentValidator validator : validators) {
             ValidationResult result = validator.validate(student, courseId);
@@ -46,79 +65,253 @@ public class EnrollmentService {
             }
         }
         
-        // Check if already enrolled or waitlisted
-        boolean alreadyEnrolled = student.getEnrollments().stream()
-                .anyMatch(e -> e.getCourseId().equals(courseId) && 
-                         (e.getStatus() == EnrollmentStatus.ENROLLED || e.getStatus() == EnrollmentStatus.WAITLISTED));
+        // Seat decisions for a course are made on its shard
+        return engine.executeShared(courseId, () -> allocateSeat(student, courseId));
+    }
+    
+    /**
+     * Take a seat or a waitlist place. Shared work on the course's shard.
+     */
+    private CompletableFuture<EnrollmentResult> allocateSeat(Student student, Long courseId) {
+        return takeSeat(student, courseId, true).thenApply(result -> {
+            notifyEnrolled(result);
+            return result;
+        });
+    }
+    
+    /**
+     * Enroll a student in several courses at once. All courses are fetched in one batch and
+     * each validator sees the whole cart, then seats are reserved on every course's shard in
+     * parallel. With ALL_OR_NOTHING, a course that cannot be taken (including a full one)
+     * rolls back the seats already taken; with PARTIAL each course stands on its own and
+     * full courses go to the waitlist, as with single enrollment.
+     */
+    public CartEnrollmentResult enrollStudentInCourses(Long studentId, List<Long> courseIds, CartCheckoutMode mode) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new NotFoundException("Student", studentId));
+        Set<Long> cart = new LinkedHashSet<>(courseIds);
+        Map<Long, EnrollmentResult> results = new LinkedHashMap<>();
         
-        if (alreadyEnrolled) {
-            return new EnrollmentResult(false, "Student is already enrolled or waitlisted for this course", null);
+        // Check all courses exist in one batched round trip
+        ServiceResponse<Map<Long, Course>> coursesResponse = CourseServiceRegistry.getCourses(cart);
+        if (!coursesResponse.isSuccess()) {
+            return new CartEnrollmentResult(false, "Could not load courses: " + coursesResponse.getMessage(), mode, results);
+        }
+        List<Long> eligible = new ArrayList<>();
+        for (Long courseId : cart) {
+            if (coursesResponse.getData().containsKey(courseId)) {
+                eligible.add(courseId);
+            } else {
+                results.put(courseId, new EnrollmentResult(false, "Course not found: " + courseId, null));
+            }
+        }
+        
+        // Each validator runs once over whatever is still eligible
+        for (EnrollmentValidator validator : validators) {
+            validator.validateAll(student, eligible).forEach((courseId, result) -> {
+                if (!result.isValid()) {
+                    results.put(courseId, new EnrollmentResult(false, result.getMessage(), null));
+                }
+            });
+            eligible.removeAll(results.keySet());
+        }
+        
+        if (mode == CartCheckoutMode.ALL_OR_NOTHING && !results.isEmpty()) {
+            return cartRejected(cart, results, results.size(), mode);
+        }
+        
+        // Reserve seats in parallel - every course on its own shard
+        boolean waitlistIfFull = mode == CartCheckoutMode.PARTIAL;
+        Map<Long, CompletableFuture<EnrollmentResult>> pending = new LinkedHashMap<>();
+        for (Long courseId : eligible) {
+            pending.put(courseId, engine.submitShared(courseId, () -> takeSeat(student, courseId, waitlistIfFull)));
+        }
+        pending.forEach((courseId, result) -> results.put(courseId, await(result)));
+        
+        long failed = results.values().stream().filter(r -> !r.isSuccess()).count();
+        if (mode == CartCheckoutMode.ALL_OR_NOTHING && failed > 0) {
+            rollBack(student, results);
+            return cartRejected(cart, results, failed, mode);
+        }
+        
+        results.values().forEach(this::notifyEnrolled);
+        long succeeded = results.size() - failed;
+        if (succeeded == 0) {
+            return new CartEnrollmentResult(false, "No courses enrolled", mode, inCartOrder(cart, results));
+        }
+        return new CartEnrollmentResult(true, succeeded + " of " + cart.size() + " courses processed successfully",
+                mode, inCartOrder(cart, results));
+    }
+    
+    /**
+     * Check for a duplicate and reserve a seat, joining the waitlist if the course is full and
+     * waitlistIfFull is set. Shared work on the course's shard: the reservation call is made
+     * off the shard and its outcome recorded back on it. Sends no notifications.
+     */
+    private CompletableFuture<EnrollmentResult> takeSeat(Student student, Long courseId, boolean waitlistIfFull) {
+        List<Long> claim = Arrays.asList(student.getId(), courseId);
+        // Other requests for the course may be in flight at the same time, including this student's
+        if (hasActiveEnrollment(student, courseId) || !seatsBeingTaken.add(claim)) {
+            return CompletableFuture.completedFuture(
+                    new EnrollmentResult(false, "Student is already enrolled or waitlisted for this course", null));
+        }
+        
+        // Take a seat in one atomic call - if the course is full, add to waitlist
+        return CourseServiceRegistry.reserveSeatAsync(courseId)
+                .thenApplyAsync(response -> recordSeat(student, courseId, waitlistIfFull, response),
+                        engine.executorFor(courseId))
+                .whenComplete((result, error) -> seatsBeingTaken.remove(claim));
+    }
+    
+    private EnrollmentResult recordSeat(Student student, Long courseId, boolean waitlistIfFull,
+                                        ServiceResponse<SeatReservation> reservationResponse) {
+        Long studentId = student.getId();
+        if (!reservationResponse.isSuccess()) {
+            if (ServiceResponse.NO_RESPONSE.equals(reservationResponse.getErrorCode())) {
+                giveBackUnconfirmedSeat(courseId);
+            }
+            return courseUnavailable(reservationResponse);
         }
         
-        // Check if course is full - if so, add to waitlist
         Enrollment enrollment;
-        if (course.isFull()) {
+        if (!reservationResponse.getData().isReserved()) {
+            if (!waitlistIfFull) {
+                return new EnrollmentResult(false, "Course is full", null);
+            }
             // Add to waitlist
             enrollment = new Enrollment(studentId, courseId, EnrollmentStatus.WAITLISTED);
-            student.getEnrollments().add(enrollment);
-            studentRepository.save(student);
-            
-            // Send waitlist notification
-            NotificationServiceRegistry.sendWaitlistNotification(studentId, courseId);
-            
+            addEnrollment(student, enrollment);
             return new EnrollmentResult(true, "Course is full. You have been added to the waitlist.", enrollment);
         } else {
-            // Enroll directly
+            // Enroll directly - the seat is already ours
             enrollment = new Enrollment(studentId, courseId, EnrollmentStatus.ENROLLED);
-            student.getEnrollments().add(enrollment);
-            studentRepository.save(student);
-            
-            // Update course capacity
-            course.decrementSeats();
-            AdminServiceRegistry.updateCourse(courseId, course);
-            
-            // Send enrollment confirmation notification
-            NotificationServiceRegistry.sendEnrollmentConfirmation(studentId, courseId);
-            
+            addEnrollment(student, enrollment);
             return new EnrollmentResult(true, "Enrollment successful", enrollment);
         }
     }
     
+    /**
+     * A reservation was sent but no answer came back, so Course Service may have taken a seat
+     * that no enrollment records. Release one to make up for it. Releases never go past the
+     * course's capacity, so if the reservation did not go through after all this frees at most
+     * one seat too many; doing nothing would lose the seat for good whenever it did.
+     */
+    private void giveBackUnconfirmedSeat(Long courseId) {
+        CourseServiceRegistry.releaseSeatAsync(courseId).thenAccept(releaseResponse -> {
+            if (!releaseResponse.isSuccess()) {
+                System.err.println("Failed to release unconfirmed seat in course " + courseId + ": " + releaseResponse.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * A failed course lookup or reservation. Only an answer from Course Service saying the
+     * course does not exist is reported as such; timeouts, rejected calls and the like are not.
+     */
+    private static EnrollmentResult courseUnavailable(ServiceResponse<?> response) {
+        if (ServiceResponse.NOT_FOUND.equals(response.getErrorCode())) {
+            return new EnrollmentResult(false, "Course not found: " + response.getMessage(), null);
+        }
+        return new EnrollmentResult(false, "Course Service request failed: " + response.getMessage(), null);
+    }
+    
+    /**
+     * Give back the seats a failed cart took, each on its course's shard. The per-course
+     * results are replaced with the outcome of the rollback.
+     */
+    private void rollBack(Student student, Map<Long, EnrollmentResult> results) {
+        Map<Long, CompletableFuture<EnrollmentResult>> pending = new LinkedHashMap<>();
+        results.forEach((courseId, result) -> {
+            if (result.isSuccess()) {
+                pending.put(courseId, engine.submit(courseId, () -> {
+                    removeEnrollment(student, result.getEnrollment());
+                    return passSeatOn(courseId).thenApply(passed ->
+                            new EnrollmentResult(false, "Rolled back: other courses in the cart could not be taken", null));
+                }));
+            }
+        });
+        pending.forEach((courseId, result) -> results.put(courseId, await(result)));
+    }
+    
+    private static CartEnrollmentResult cartRejected(Set<Long> cart, Map<Long, EnrollmentResult> results,
+                                                     long failed, CartCheckoutMode mode) {
+        return new CartEnrollmentResult(false, "No courses enrolled: " + failed + " of " + cart.size()
+                + " courses cannot be taken", mode, inCartOrder(cart, results));
+    }
+    
+    private void notifyEnrolled(EnrollmentResult result) {
+        if (!result.isSuccess()) {
+            return;
+        }
+        // Queued in the outbox - the enrollment response never waits for it
+        Enrollment enrollment = result.getEnrollment();
+        if (enrollment.getStatus() == EnrollmentStatus.WAITLISTED) {
+            outbox.add(enrollment.getStudentId(), NotificationType.COURSE_FULL,
+                    "Course " + enrollment.getCourseId() + " is full. You have been added to the waitlist");
+        } else {
+            outbox.add(enrollment.getStudentId(), NotificationType.ENROLLMENT_CONFIRMATION,
+                    "You have been successfully enrolled in course " + enrollment.getCourseId());
+        }
+    }
+    
+    /**
+     * Wait for shard work in a cart. A cart cannot be left half rolled back, so this waits
+     * for the work to finish rather than giving up at the request deadline.
+     */
+    private static EnrollmentResult await(CompletableFuture<EnrollmentResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new EnrollmentResult(false, cause.getMessage(), null);
+        }
+    }
+    
+    private static Map<Long, EnrollmentResult> inCartOrder(Set<Long> cart, Map<Long, EnrollmentResult> results) {
+        Map<Long, EnrollmentResult> ordered = new LinkedHashMap<>();
+        for (Long courseId : cart) {
+            ordered.put(courseId, results.getOrDefault(courseId,
+                    new EnrollmentResult(false, "Not attempted: other courses in the cart cannot be taken", null)));
+        }
+        return ordered;
+    }
+    
     public EnrollmentResult dropCourse(Long studentId, Long courseId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new NotFoundException("Student", studentId));
         
-        // Find the enrollment
-        Enrollment enrollment = student.getEnrollments().stream()
-                .filter(e -> e.getCourseId().equals(courseId) && e.getStatus() == EnrollmentStatus.ENROLLED)
-                .findFirst()
-                .orElse(null);
-        
-        if (enrollment == null) {
-            return new EnrollmentResult(false, "Student is not enrolled in this course", null);
-        }
-        
-        // Update enrollment status
-        enrollment.setStatus(EnrollmentStatus.DROPPED);
-        studentRepository.save(student);
-        
-        // Get course information to update capacity
-        ServiceResponse<Course> courseResponse = CourseServiceRegistry.getCourse(courseId);
-        if (courseResponse.isSuccess()) {
-            Course course = courseResponse.getData();
-            course.incrementSeats();
+        // Freeing the seat and handing it on must not interleave with other seat decisions
+        return engine.execute(courseId, () -> releaseSeat(student, courseId));
+    }
+    
+    /**
+     * Drop an enrollment and pass its seat on. Exclusive work on the course's shard.
+     */
+    private CompletableFuture<EnrollmentResult> releaseSeat(Student student, Long courseId) {
+        Enrollment enrollment;
+        synchronized (student) {
+            // Find the enrollment
+            enrollment = student.getEnrollments().stream()
+                    .filter(e -> e.getCourseId().equals(courseId) && e.getStatus() == EnrollmentStatus.ENROLLED)
+                    .findFirst()
+                    .orElse(null);
             
-            // Update course in Course Service using AdminServiceRegistry
-            AdminServiceRegistry.updateCourse(courseId, course);
+            if (enrollment == null) {
+                return CompletableFuture.completedFuture(
+                        new EnrollmentResult(false, "Student is not enrolled in this course", null));
+            }
             
-            // Process waitlist - find the next waitlisted student
-            processWaitlist(courseId);
+            // Update enrollment status
+            enrollment.setStatus(EnrollmentStatus.DROPPED);
+            studentRepository.save(student);
         }
         
-        // Send drop confirmation notification
-        NotificationServiceRegistry.sendDropConfirmation(studentId, courseId);
-        
-        return new EnrollmentResult(true, "Course dropped successfully", enrollment);
+        Enrollment dropped = enrollment;
+        return passSeatOn(courseId).thenApply(passed -> {
+            // Send drop confirmation notification
+            outbox.add(student.getId(), NotificationType.COURSE_DROPPED, "You have dropped course " + courseId);
+            return new EnrollmentResult(true, "Course dropped successfully", dropped);
+        });
     }
     
     public List<Course> getWaitlistedCourses(Long studentId) {
@@ -131,12 +324,16 @@ public class EnrollmentService {
                 .map(Enrollment::getCourseId)
                 .toList();
         
-        // Fetch course details from Course Service for each waitlisted course
+        // Fetch all course details from Course Service in one batched round trip
+        ServiceResponse<Map<Long, Course>> coursesResponse = CourseServiceRegistry.getLiveCourses(waitlistedCourseIds);
+        
         List<Course> waitlistedCourses = new ArrayList<>();
-        for (Long courseId : waitlistedCourseIds) {
-            ServiceResponse<Course> courseResponse = CourseServiceRegistry.getCourse(courseId);
-            if (courseResponse.isSuccess()) {
-                waitlistedCourses.add(courseResponse.getData());
+        if (coursesResponse.isSuccess() && coursesResponse.getData() != null) {
+            for (Long courseId : waitlistedCourseIds) {
+                Course course = coursesResponse.getData().get(courseId);
+                if (course != null) {
+                    waitlistedCourses.add(course);
+                }
             }
         }
         
@@ -153,69 +350,103 @@ public class EnrollmentService {
         // Check if course exists
         ServiceResponse<Course> courseResponse = CourseServiceRegistry.getCourse(courseId);
         if (!courseResponse.isSuccess()) {
-            return new EnrollmentResult(false, "Course not found: " + courseResponse.getMessage(), null);
+            return courseUnavailable(courseResponse);
         }
         
-        // Check if already enrolled or waitlisted
-        boolean alreadyRelated = student.getEnrollments().stream()
-                .anyMatch(e -> e.getCourseId().equals(courseId) && 
-                         (e.getStatus() == EnrollmentStatus.ENROLLED || 
-                          e.getStatus() == EnrollmentStatus.WAITLISTED));
-        
-        if (alreadyRelated) {
+        // Joins the same queue as waitlisting through a full course
+        return engine.execute(courseId, () -> CompletableFuture.completedFuture(joinWaitlist(student, courseId)));
+    }
+    
+    /**
+     * Exclusive work on the course's shard, so no reservation for it is in flight
+     */
+    private EnrollmentResult joinWaitlist(Student student, Long courseId) {
+        Long studentId = student.getId();
+        if (hasActiveEnrollment(student, courseId)) {
             return new EnrollmentResult(false, "Student is already enrolled or waitlisted for this course", null);
         }
         
         // Add to waitlist
         Enrollment enrollment = new Enrollment(studentId, courseId, EnrollmentStatus.WAITLISTED);
-        student.getEnrollments().add(enrollment);
-        studentRepository.save(student);
+        addEnrollment(student, enrollment);
         
         // Send waitlist notification
-        NotificationServiceRegistry.sendWaitlistNotification(studentId, courseId);
+        outbox.add(studentId, NotificationType.COURSE_FULL, "You have been added to the waitlist for course " + courseId);
         
         return new EnrollmentResult(true, "Successfully added to waitlist", enrollment);
     }
     
     /**
-     * Process waitlist when a spot becomes available in a course
+     * Hand a freed seat straight to the next waitlisted student; only if nobody is waiting
+     * does it go back to the course. Exclusive work on the course's shard; the release call
+     * is made off the shard.
      */
-    private void processWaitlist(Long courseId) {
-        // Find all students waitlisted for this course across all students
-        List<Student> allStudents = studentRepository.findAll();
-        
-        // Find the first waitlisted student for this course (FIFO)
-        Student nextStudent = null;
-        Enrollment waitlistEnrollment = null;
-        
-        for (Student student : allStudents) {
-            for (Enrollment enrollment : student.getEnrollments()) {
-                if (enrollment.getCourseId().equals(courseId) && 
-                    enrollment.getStatus() == EnrollmentStatus.WAITLISTED) {
-                    nextStudent = student;
-                    waitlistEnrollment = enrollment;
-                    break;
-                }
+    private CompletableFuture<Void> passSeatOn(Long courseId) {
+        if (promoteFromWaitlist(courseId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CourseServiceRegistry.releaseSeatAsync(courseId).thenAccept(releaseResponse -> {
+            if (!releaseResponse.isSuccess()) {
+                System.err.println("Failed to release seat in course " + courseId + ": " + releaseResponse.getMessage());
             }
-            if (nextStudent != null) break;
+        });
+    }
+    
+    /**
+     * Give a seat that just became free to the longest-waiting student for the course.
+     * The seat changes hands without passing through the course's seat count. Exclusive work
+     * on the course's shard, so nobody can take the seat in between.
+     * @return whether a waitlisted student was enrolled
+     */
+    private boolean promoteFromWaitlist(Long courseId) {
+        // Longest-waiting student for this course (FIFO), straight from the waitlist index
+        Student nextStudent = studentRepository.findNextWaitlisted(courseId).orElse(null);
+        if (nextStudent == null) {
+            return false;
         }
         
-        // If we found a waitlisted student, enroll them
-        if (nextStudent != null && waitlistEnrollment != null) {
+        synchronized (nextStudent) {
+            Enrollment waitlistEnrollment = nextStudent.getEnrollments().stream()
+                    .filter(e -> e.getCourseId().equals(courseId) && e.getStatus() == EnrollmentStatus.WAITLISTED)
+                    .findFirst()
+                    .orElse(null);
+            if (waitlistEnrollment == null) {
+                return false;
+            }
+            
             // Change status from waitlisted to enrolled
             waitlistEnrollment.setStatus(EnrollmentStatus.ENROLLED);
             studentRepository.save(nextStudent);
-            
-            // Update course capacity
-            ServiceResponse<Course> courseResponse = CourseServiceRegistry.getCourse(courseId);
-            if (courseResponse.isSuccess()) {
-                Course course = courseResponse.getData();
-                course.decrementSeats();
-                AdminServiceRegistry.updateCourse(courseId, course);
-            }
-            
-            // Send notification to the student that they've been enrolled from waitlist
-            NotificationServiceRegistry.sendEnrollmentConfirmation(nextStudent.getId(), courseId);
+        }
+        
+        // Send notification to the student that they've been enrolled from waitlist
+        outbox.add(nextStudent.getId(), NotificationType.WAITLIST_AVAILABLE,
+                "A seat opened up in course " + courseId + " and you have been enrolled from the waitlist");
+        return true;
+    }
+    
+    // A student's enrollments can change on several course shards at once, so reads and
+    // writes of the list are guarded by the student itself
+    
+    private boolean hasActiveEnrollment(Student student, Long courseId) {
+        synchronized (student) {
+            return student.getEnrollments().stream()
+                    .anyMatch(e -> e.getCourseId().equals(courseId) && 
+                             (e.getStatus() == EnrollmentStatus.ENROLLED || e.getStatus() == EnrollmentStatus.WAITLISTED));
+        }
+    }
+    
+    private void addEnrollment(Student student, Enrollment enrollment) {
+        synchronized (student) {
+            student.getEnrollments().add(enrollment);
+            studentRepository.save(student);
+        }
+    }
+    
+    private void removeEnrollment(Student student, Enrollment enrollment) {
+        synchronized (student) {
+            student.getEnrollments().remove(enrollment);
+            studentRepository.save(student);
         }
     }
 }
@@ -0,0 +1,353 @@
+package com.nexus.enrollment.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.enrollment.common.enums.NotificationType;
+import com.nexus.enrollment.common.model.Notification;
+import com.nexus.enrollment.common.registries.NotificationServiceRegistry;
+import com.nexus.enrollment.common.service.ServiceResponse;
+import com.nexus.enrollment.common.util.EnvironmentConfig;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifications waiting to be sent, so enrollment never waits on the notification service.
+ *
+ * add() only appends to a bounded in-memory queue (NOTIFICATION_OUTBOX_CAPACITY, default
+ * 10000); a background dispatcher sends what is queued in batches of up to
+ * NOTIFICATION_OUTBOX_BATCH_SIZE (default 50) through POST /notifications/batch, retrying a
+ * failed batch with exponential backoff up to NOTIFICATION_OUTBOX_MAX_ATTEMPTS (default 8)
+ * times. A batch it gives up on is set aside and queued again after
+ * NOTIFICATION_OUTBOX_RETRY_AFTER_MS (default 60000), for as long as the process runs. At most
+ * NOTIFICATION_OUTBOX_CAPACITY notifications are set aside; beyond that the oldest are dropped.
+ * When the queue is full new notifications are dropped rather than slowing the caller down.
+ * Every dropped notification is logged and counted (see dropped()).
+ *
+ * With NOTIFICATION_OUTBOX_FILE set, every notification is also appended to that file and
+ * marked there once delivered or dropped, and anything else is queued again on startup, so
+ * notifications set aside also survive a restart. Delivery is at least once, short of a drop:
+ * a batch whose response is lost is sent again.
+ */
+public class NotificationOutbox {
+    private static final long INITIAL_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    // Rewrite the journal once this many delivered entries have piled up and nothing is pending
+    private static final int COMPACT_AFTER = 1000;
+    
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryAfterMillis;
+    private final int maxGivenUp;
+    private final Path journalFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BufferedWriter journal;
+    // Entries the dispatcher gave up on, oldest first, waiting for their retry time. Only the
+    // dispatcher thread adds and removes entries; guarded by this for compaction.
+    private final Map<Long, Entry> givenUp = new LinkedHashMap<>();
+    private long nextId = 1;
+    private int deliveredSinceCompaction;
+    private long dropped;
+    
+    public NotificationOutbox(int capacity, int batchSize, int maxAttempts, long retryAfterMillis, Path journalFile) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryAfterMillis = retryAfterMillis;
+        this.maxGivenUp = capacity;
+        this.journalFile = journalFile;
+        if (journalFile != null) {
+            recover();
+        }
+    }
+    
+    /**
+     * Outbox configured from the environment, with its dispatcher already running
+     */
+    public static NotificationOutbox fromEnvironment() {
+        String file = EnvironmentConfig.getString("NOTIFICATION_OUTBOX_FILE", null);
+        NotificationOutbox outbox = new NotificationOutbox(
+                EnvironmentConfig.getInt("NOTIFICATION_OUTBOX_CAPACITY", 10_000),
+                EnvironmentConfig.getInt("NOTIFICATION_OUTBOX_BATCH_SIZE", 50),
+                EnvironmentConfig.getInt("NOTIFICATION_OUTBOX_MAX_ATTEMPTS", 8),
+                EnvironmentConfig.getLong("NOTIFICATION_OUTBOX_RETRY_AFTER_MS", 60_000),
+                file == null || file.isEmpty() ? null : Paths.get(file));
+        outbox.start();
+        return outbox;
+    }
+    
+    /**
+     * Start the background dispatcher
+     */
+    public void start() {
+        Thread dispatcher = new Thread(this::dispatch, "notification-outbox");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+    
+    /**
+     * Queue a notification for the user. Never blocks on the notification service.
+     * @return false if the outbox is full and the notification was dropped
+     */
+    public boolean add(Long userId, NotificationType type, String message) {
+        Notification notification = new Notification(userId, type, message);
+        synchronized (this) {
+            Entry entry = new Entry(nextId, notification);
+            if (queue.remainingCapacity() == 0) {
+                dropped++;
+                System.err.println("Notification outbox is full, dropping " + type + " notification for user " + userId
+                        + " (" + dropped + " dropped so far)");
+                return false;
+            }
+            nextId++;
+            if (journal != null) {
+                writeJournal("+" + entry.id + " " + toJson(notification));
+            }
+            queue.add(entry);
+            return true;
+        }
+    }
+    
+    /**
+     * Notifications queued but not yet delivered
+     */
+    public int pending() {
+        return queue.size();
+    }
+    
+    /**
+     * Notifications dropped so far, because the outbox was full or too many were set aside
+     */
+    public synchronized long dropped() {
+        return dropped;
+    }
+    
+    private void dispatch() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                long nextRetry = requeueGivenUp();
+                Entry first = nextRetry < 0 ? queue.take()
+                        : queue.poll(Math.max(1, nextRetry - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (deliver(batch)) {
+                    markDelivered(batch);
+                } else {
+                    keepUndelivered(batch);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Keep the dispatcher alive; the batch is retried later like any other failed one
+                System.err.println("Notification outbox failed to dispatch " + batch.size() + " notifications: " + e.getMessage());
+                keepUndelivered(batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * Send a batch, retrying with backoff
+     * @return whether the notification service accepted it
+     */
+    private boolean deliver(List<Entry> batch) throws InterruptedException {
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            notifications.add(entry.notification);
+        }
+        
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            ServiceResponse<List<Notification>> response = NotificationServiceRegistry.sendNotifications(notifications);
+            if (response.isSuccess()) {
+                return true;
+            }
+            if (attempt >= maxAttempts) {
+                System.err.println("Giving up on " + batch.size() + " notifications after " + attempt + " attempts: "
+                        + response.getMessage() + "; they will be retried in " + retryAfterMillis + " ms");
+                return false;
+            }
+            Thread.sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+    
+    private synchronized void markDelivered(List<Entry> batch) {
+        if (journal == null) {
+            return;
+        }
+        StringBuilder delivered = new StringBuilder();
+        for (Entry entry : batch) {
+            delivered.append('-').append(entry.id).append(System.lineSeparator());
+        }
+        writeJournal(delivered.toString().trim());
+        deliveredSinceCompaction += batch.size();
+        if (deliveredSinceCompaction >= COMPACT_AFTER && queue.isEmpty()) {
+            // Nothing is queued, so the journal only needs what was given up on
+            Map<Long, Notification> pending = new LinkedHashMap<>();
+            givenUp.forEach((id, entry) -> pending.put(id, entry.notification));
+            rewriteJournal(pending);
+        }
+    }
+    
+    /**
+     * Set aside a batch that could not be sent, to be queued again once its retry time comes.
+     * It stays unmarked in the journal meanwhile. If too much has been set aside, the oldest
+     * entries are dropped.
+     */
+    private synchronized void keepUndelivered(List<Entry> batch) {
+        long retryAt = System.currentTimeMillis() + retryAfterMillis;
+        for (Entry entry : batch) {
+            entry.retryAt = retryAt;
+            givenUp.put(entry.id, entry);
+        }
+        int lost = 0;
+        Iterator<Entry> oldest = givenUp.values().iterator();
+        while (givenUp.size() > maxGivenUp) {
+            writeJournal("-" + oldest.next().id);
+            oldest.remove();
+            lost++;
+        }
+        if (lost > 0) {
+            dropped += lost;
+            System.err.println("Too many undeliverable notifications, dropping the " + lost + " oldest ("
+                    + dropped + " dropped so far)");
+        }
+    }
+    
+    /**
+     * Queue again, oldest first, the entries whose retry time has come, as far as the queue
+     * has room
+     * @return when the next entry set aside is due, or -1 if there is none
+     */
+    private synchronized long requeueGivenUp() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> oldest = givenUp.values().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next();
+            if (entry.retryAt > now) {
+                return entry.retryAt;
+            }
+            if (!queue.offer(entry)) {
+                // Try again shortly, once the dispatcher has made room
+                return now + INITIAL_BACKOFF_MILLIS;
+            }
+            oldest.remove();
+        }
+        return -1;
+    }
+    
+    /**
+     * Queue again whatever the journal holds that was never delivered, and compact it
+     */
+    private void recover() {
+        Map<Long, Notification> undelivered = new LinkedHashMap<>();
+        try {
+            if (Files.exists(journalFile)) {
+                for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("+")) {
+                        int space = line.indexOf(' ');
+                        long id = Long.parseLong(line.substring(1, space));
+                        undelivered.put(id, objectMapper.readValue(line.substring(space + 1), Notification.class));
+                        nextId = Math.max(nextId, id + 1);
+                    } else if (line.startsWith("-")) {
+                        undelivered.remove(Long.parseLong(line.substring(1)));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // A torn last line from a crash is expected; keep what was read before it
+            System.err.println("Could not fully read notification outbox " + journalFile + ": " + e.getMessage());
+        }
+        
+        Map<Long, Notification> requeued = new LinkedHashMap<>();
+        undelivered.forEach((id, notification) -> {
+            if (queue.offer(new Entry(id, notification))) {
+                requeued.put(id, notification);
+            }
+        });
+        if (requeued.size() < undelivered.size()) {
+            System.err.println("Notification outbox is full, dropping " + (undelivered.size() - requeued.size())
+                    + " recovered notifications");
+        }
+        rewriteJournal(requeued);
+        if (!requeued.isEmpty()) {
+            System.out.println("Notification outbox recovered " + requeued.size() + " undelivered notifications");
+        }
+    }
+    
+    private void rewriteJournal(Map<Long, Notification> pending) {
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            Path parent = journalFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            journal = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            for (Map.Entry<Long, Notification> entry : pending.entrySet()) {
+                journal.write("+" + entry.getKey() + " " + toJson(entry.getValue()));
+                journal.newLine();
+            }
+            journal.flush();
+            deliveredSinceCompaction = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write notification outbox " + journalFile, e);
+        }
+    }
+    
+    private void writeJournal(String lines) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.write(lines);
+            journal.newLine();
+            journal.flush();
+        } catch (IOException e) {
+            // The notification is still queued in memory, it just will not survive a restart
+            System.err.println("Could not write notification outbox " + journalFile + ": " + e.getMessage());
+        }
+    }
+    
+    private String toJson(Notification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static class Entry {
+        private final long id;
+        private final Notification notification;
+        // When an entry the dispatcher gave up on may be sent again
+        private long retryAt;
+        
+        Entry(long id, Notification notification) {
+            this.id = id;
+            this.notification = notification;
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.nexus.enrollment.student.service;
 import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.model.Schedule;
 import com.nexus.enrollment.common.model.Enrollment;
+import com.nexus.enrollment.common.model.PagedResult;
+import com.nexus.enrollment.common.exceptions.BadRequestException;
 import com.nexus.enrollment.common.exceptions.NotFoundException;
 import com.nexus.enrollment.student.repository.StudentRepository;
 import java.util.List;
 
 public class StudentService {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    
     private final StudentRepository studentRepository;
     
     public StudentService(StudentRepository studentRepository) {
@@ -23,6 +28,23 @@ public class StudentService {
         return studentRepository.findAll();
     }
     
+    /**
+     * A page of the students enrolled in a course
+     * @param offset first student to return, 0 if null
+     * @param limit page size, 100 if null and at most 500
+     */
+    public PagedResult<Student> getStudentsByCourse(Long courseId, Integer offset, Integer limit) {
+        int from = offset != null ? offset : 0;
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (from < 0) {
+            throw new BadRequestException("offset must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return studentRepository.findByCourseEnrolled(courseId, from, size);
+    }
+    
     public Schedule getStudentSchedule(Long studentId) {
         Student student = getStudentById(studentId);
         List<Enrollment> enrollments = student.getEnrollments();
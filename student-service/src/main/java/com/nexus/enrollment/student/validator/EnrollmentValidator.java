@@ -2,7 +2,23 @@ package com.nexus.enrollment.student.validator;
 
 import com.nexus.enrollment.common.model.Student;
 import com.nexus.enrollment.common.model.ValidationResult;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public interface EnrollmentValidator {
     ValidationResult validate(Student student, Long courseId);
+    
+    /**
+     * Validate a whole cart of courses at once, keyed by course ID. Override to check the
+     * courses against each other or to fetch what is needed in one go; by default each
+     * course is validated on its own.
+     */
+    default Map<Long, ValidationResult> validateAll(Student student, Collection<Long> courseIds) {
+        Map<Long, ValidationResult> results = new LinkedHashMap<>();
+        for (Long courseId : courseIds) {
+            results.put(courseId, validate(student, courseId));
+        }
+        return results;
+    }
 }